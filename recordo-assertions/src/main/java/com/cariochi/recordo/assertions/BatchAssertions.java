@@ -0,0 +1,83 @@
+package com.cariochi.recordo.assertions;
+
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.ExceptionsCollector;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Runs many assertions concurrently and reports all failures at once.
+ * <ul>
+ * <li>Assertions run on a fixed pool with one thread per available processor.</li>
+ * <li>All {@code ACTUAL/} and new expected files are written before the failures are reported.</li>
+ * <li>Failure messages are sorted, so the report does not depend on the order of completion.</li>
+ * <li>Only assertion errors and exceptions are collected, other errors such as {@link VirtualMachineError}
+ * are rethrown as soon as they occur.</li>
+ * </ul>
+ * <pre class="code"><code class="java">
+ * assertAll(
+ *     () -&gt; assertAsJson(book).isEqualTo("/books/book.json"),
+ *     () -&gt; assertCsv(report).withHeaders(true).isEqualsTo("/books/report.csv")
+ * );
+ * </code></pre>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BatchAssertions {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "recordo-assertions-" + THREAD_NUMBER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+    );
+
+    public static void assertAll(Runnable... assertions) {
+        assertAll(asList(assertions));
+    }
+
+    public static void assertAll(Collection<? extends Runnable> assertions) {
+        final ExceptionsCollector failures = ExceptionsCollector.of(AssertionError.class, Exception.class);
+        final CompletableFuture<Void> fatal = new CompletableFuture<>();
+        final CompletableFuture<Void> all = CompletableFuture.allOf(
+                assertions.stream()
+                        .map(failures::running)
+                        .map(assertion -> CompletableFuture.runAsync(assertion, EXECUTOR))
+                        .map(future -> future.whenComplete((result, error) -> {
+                            if (error != null) {
+                                fatal.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                            }
+                        }))
+                        .toArray(CompletableFuture[]::new)
+        );
+        await(CompletableFuture.anyOf(all, fatal));
+        AsyncFileWriter.flush();
+        if (failures.hasExceptions()) {
+            throw new AssertionError(format("%d of %d assertions failed%n%n%s", failures.size(), assertions.size(), failures.getMessage()));
+        }
+    }
+
+    @SneakyThrows
+    private static void await(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -1,20 +1,15 @@
 package com.cariochi.recordo.assertions;
 
 import com.cariochi.recordo.core.utils.Files;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvParser;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
-import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.StringReader;
 import java.util.List;
-import java.util.Map;
-
-import static com.fasterxml.jackson.dataformat.csv.CsvSchema.emptySchema;
-import static org.assertj.core.api.Assertions.assertThat;
+import java.util.Set;
 
 @Slf4j
 @Accessors(fluent = true)
@@ -35,14 +30,50 @@ public class CsvAssertion {
     @Setter
     private String withLineSeparator = "\n";
 
+    /**
+     * Maximum number of reported missing, unexpected and changed rows.
+     */
+    @Setter
+    private int withMaxReportedDifferences = 10;
+
+    private List<String> keyColumns = List.of();
+    private Set<String> includedColumns = Set.of();
+    private Set<String> excludedColumns = Set.of();
+
+    /**
+     * Rows are matched by the values of the key columns, regardless of their order,
+     * and changed rows are reported cell by cell.
+     * Columns are column names, or zero-based column indexes for CSV without headers.
+     */
+    public CsvAssertion withKeyColumns(String... columns) {
+        this.keyColumns = List.of(columns);
+        return this;
+    }
+
+    public CsvAssertion including(String... columns) {
+        this.includedColumns = Set.of(columns);
+        return this;
+    }
+
+    public CsvAssertion excluding(String... columns) {
+        this.excludedColumns = Set.of(columns);
+        return this;
+    }
+
     public void isEqualsTo(String fileName) {
         if (Files.exists(fileName)) {
             try {
                 doAssert(fileName);
             } catch (AssertionError e) {
+                if (SnapshotUpdates.enabled()) {
+                    updateFile(fileName);
+                    return;
+                }
                 writeFile(actualFileName(fileName));
                 throw e;
             }
+        } else if (SnapshotUpdates.enabled()) {
+            updateFile(fileName);
         } else {
             writeFile(fileName);
             throw new AssertionError("Expected CSV file not found");
@@ -50,49 +81,26 @@ public class CsvAssertion {
     }
 
     private void doAssert(String fileName) {
-        final List<Object> actual = read(actualCsv);
-        final List<Object> expected = read(Files.read(fileName));
-        if (withStrictOrder) {
-            assertThat(actual).containsExactlyElementsOf(expected);
-        } else {
-            assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
-        }
-    }
-
-    private List<Object> read(String csv) {
-        return withHeaders ? readWithHeaders(csv) : readWithoutHeaders(csv);
+        CsvComparator.builder()
+                .withHeaders(withHeaders)
+                .strictOrder(withStrictOrder)
+                .columnSeparator(withColumnSeparator)
+                .lineSeparator(withLineSeparator)
+                .keyColumns(keyColumns)
+                .includedColumns(includedColumns)
+                .excludedColumns(excludedColumns)
+                .maxDifferences(withMaxReportedDifferences)
+                .build()
+                .compare(Files.reader(fileName), new StringReader(actualCsv));
     }
 
-    @SneakyThrows
-    private List<Object> readWithHeaders(String csv) {
-        final CsvSchema schema = emptySchema()
-                .withHeader()
-                .withColumnSeparator(withColumnSeparator)
-                .withLineSeparator(withLineSeparator);
-        return new CsvMapper()
-                .readerFor(Map.class)
-                .with(schema)
-                .readValues(csv)
-                .readAll();
-    }
-
-    @SneakyThrows
-    private List<Object> readWithoutHeaders(String csv) {
-        final CsvSchema schema = emptySchema()
-                .withoutHeader()
-                .withColumnSeparator(withColumnSeparator)
-                .withLineSeparator(withLineSeparator);
-        return new CsvMapper()
-                .enable(CsvParser.Feature.WRAP_AS_ARRAY)
-                .readerFor(List.class)
-                .with(schema)
-                .readValues(csv)
-                .readAll();
+    private void writeFile(String s) {
+        Files.writeAsync(actualCsv, s, false)
+                .ifPresent(Files.whenWritten(file -> log.info("\nExpected value is saved to file://{}", file)));
     }
 
-    private void writeFile(String s) {
-        Files.write(actualCsv, s, false)
-                .ifPresent(file -> log.info("\nExpected value is saved to file://{}", file));
+    private void updateFile(String fileName) {
+        Files.writeAsync(actualCsv, fileName, false).ifPresent(SnapshotUpdates::updated);
     }
 
     private String actualFileName(String expectedFileName) {
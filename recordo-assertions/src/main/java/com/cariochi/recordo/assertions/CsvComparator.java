@@ -0,0 +1,262 @@
+package com.cariochi.recordo.assertions;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.fasterxml.jackson.dataformat.csv.CsvSchema.emptySchema;
+import static java.lang.String.format;
+import static java.lang.String.valueOf;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+@Builder
+class CsvComparator {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final Map<Format, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private final boolean withHeaders;
+    private final boolean strictOrder;
+
+    @Builder.Default
+    private final char columnSeparator = ',';
+
+    @Builder.Default
+    private final String lineSeparator = "\n";
+
+    @Builder.Default
+    private final List<String> keyColumns = List.of();
+
+    @Builder.Default
+    private final Set<String> includedColumns = emptySet();
+
+    @Builder.Default
+    private final Set<String> excludedColumns = emptySet();
+
+    @Builder.Default
+    private final int maxDifferences = 10;
+
+    public void compare(Reader expected, Reader actual) {
+        final Differences missing = new Differences("Missing rows", maxDifferences);
+        final Differences unexpected = new Differences("Unexpected rows", maxDifferences);
+        final Differences changed = new Differences("Changed rows", maxDifferences);
+        final Differences duplicated = new Differences("Duplicated expected keys", maxDifferences);
+        try (MappingIterator<Object> expectedRows = rows(expected); MappingIterator<Object> actualRows = rows(actual)) {
+            if (!keyColumns.isEmpty()) {
+                compareByKey(expectedRows, actualRows, missing, unexpected, changed, duplicated);
+            } else if (strictOrder) {
+                compareInOrder(expectedRows, actualRows, missing, unexpected, changed);
+            } else {
+                compareInAnyOrder(expectedRows, actualRows, missing, unexpected);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("CSV can't be read", e);
+        }
+        if (missing.count + unexpected.count + changed.count + duplicated.count > 0) {
+            throw new AssertionError("CSV rows differ" + missing + unexpected + changed + duplicated);
+        }
+    }
+
+    private void compareByKey(MappingIterator<Object> expectedRows,
+                              MappingIterator<Object> actualRows,
+                              Differences missing,
+                              Differences unexpected,
+                              Differences changed,
+                              Differences duplicated) {
+        final Map<List<String>, Map<String, String>> expectedByKey = new LinkedHashMap<>();
+        expectedRows.forEachRemaining(row -> {
+            final Map<String, String> cells = cells(row);
+            final List<String> key = keyOf(cells);
+            final Map<String, String> expected = project(cells);
+            if (expectedByKey.putIfAbsent(key, expected) != null) {
+                duplicated.add(format("%s: %s", key, expected));
+            }
+        });
+        final Set<List<String>> actualKeys = new HashSet<>();
+        while (actualRows.hasNext()) {
+            final Map<String, String> cells = cells(actualRows.next());
+            final List<String> key = keyOf(cells);
+            final Map<String, String> actual = project(cells);
+            final Map<String, String> expected = expectedByKey.remove(key);
+            if (expected != null) {
+                actualKeys.add(key);
+                if (!expected.equals(actual)) {
+                    changed.add(format("%s: %s", key, cellsDiff(expected, actual)));
+                }
+            } else if (actualKeys.contains(key)) {
+                unexpected.add(format("duplicated key %s: %s", key, actual));
+            } else {
+                unexpected.add(format("%s: %s", key, actual));
+            }
+        }
+        expectedByKey.forEach((key, expected) -> missing.add(format("%s: %s", key, expected)));
+    }
+
+    private void compareInOrder(MappingIterator<Object> expectedRows,
+                                MappingIterator<Object> actualRows,
+                                Differences missing,
+                                Differences unexpected,
+                                Differences changed) {
+        int row = 0;
+        while (expectedRows.hasNext() && actualRows.hasNext()) {
+            row++;
+            final Map<String, String> expected = row(expectedRows.next());
+            final Map<String, String> actual = row(actualRows.next());
+            if (!expected.equals(actual)) {
+                changed.add(format("row %d: %s", row, cellsDiff(expected, actual)));
+            }
+        }
+        while (expectedRows.hasNext()) {
+            missing.add(format("row %d: %s", ++row, row(expectedRows.next())));
+        }
+        while (actualRows.hasNext()) {
+            unexpected.add(format("row %d: %s", ++row, row(actualRows.next())));
+        }
+    }
+
+    private void compareInAnyOrder(MappingIterator<Object> expectedRows,
+                                   MappingIterator<Object> actualRows,
+                                   Differences missing,
+                                   Differences unexpected) {
+        final Map<Map<String, String>, Integer> expectedCounts = new HashMap<>();
+        expectedRows.forEachRemaining(row -> expectedCounts.merge(row(row), 1, Integer::sum));
+
+        while (actualRows.hasNext()) {
+            final Map<String, String> row = row(actualRows.next());
+            final Integer count = expectedCounts.get(row);
+            if (count == null) {
+                unexpected.add(valueOf(row));
+            } else if (count == 1) {
+                expectedCounts.remove(row);
+            } else {
+                expectedCounts.put(row, count - 1);
+            }
+        }
+
+        expectedCounts.forEach((row, count) -> missing.add(count == 1 ? valueOf(row) : row + " x" + count, count));
+    }
+
+    private String cellsDiff(Map<String, String> expected, Map<String, String> actual) {
+        final Set<String> columns = new LinkedHashSet<>(expected.keySet());
+        columns.addAll(actual.keySet());
+        return columns.stream()
+                .filter(column -> !Objects.equals(expected.get(column), actual.get(column)))
+                .map(column -> format("%s: %s -> %s", column, expected.get(column), actual.get(column)))
+                .collect(joining(", "));
+    }
+
+    private List<String> keyOf(Map<String, String> row) {
+        return keyColumns.stream().map(row::get).collect(toList());
+    }
+
+    @SneakyThrows
+    private MappingIterator<Object> rows(Reader reader) {
+        return readerOf(new Format(withHeaders, columnSeparator, lineSeparator)).readValues(reader);
+    }
+
+    private Map<String, String> row(Object row) {
+        return project(cells(row));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> cells(Object row) {
+        if (row instanceof Map) {
+            return (Map<String, String>) row;
+        }
+        final List<String> values = (List<String>) row;
+        final Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            map.put(valueOf(i), values.get(i));
+        }
+        return map;
+    }
+
+    /**
+     * Key columns are read from cells before the projection, so they may be neither included nor compared.
+     */
+    private Map<String, String> project(Map<String, String> cells) {
+        if (includedColumns.isEmpty() && excludedColumns.isEmpty()) {
+            return cells;
+        }
+        final Map<String, String> map = new LinkedHashMap<>(cells);
+        if (!includedColumns.isEmpty()) {
+            map.keySet().retainAll(includedColumns);
+        }
+        map.keySet().removeAll(excludedColumns);
+        return map;
+    }
+
+    private static ObjectReader readerOf(Format format) {
+        return READERS.computeIfAbsent(format, CsvComparator::createReader);
+    }
+
+    private static ObjectReader createReader(Format format) {
+        final CsvSchema schema = (format.isWithHeaders() ? emptySchema().withHeader() : emptySchema().withoutHeader())
+                .withColumnSeparator(format.getColumnSeparator())
+                .withLineSeparator(format.getLineSeparator());
+        return format.isWithHeaders()
+                ? CSV_MAPPER.readerFor(Map.class).with(schema)
+                : CSV_MAPPER.readerFor(List.class).with(schema).with(CsvParser.Feature.WRAP_AS_ARRAY);
+    }
+
+    @Value
+    private static class Format {
+
+        boolean withHeaders;
+        char columnSeparator;
+        String lineSeparator;
+
+    }
+
+    @RequiredArgsConstructor
+    private static class Differences {
+
+        private final String title;
+        private final int max;
+        private final List<String> reported = new ArrayList<>();
+        private int count;
+        private boolean truncated;
+
+        void add(String difference) {
+            add(difference, 1);
+        }
+
+        void add(String difference, int times) {
+            count += times;
+            if (reported.size() < max) {
+                reported.add(difference);
+            } else {
+                truncated = true;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return count == 0 ? "" : reported.stream()
+                    .collect(joining("\n  ", format("\n%s (%d):\n  ", title, count), truncated ? "\n  ..." : ""));
+        }
+
+    }
+
+}
@@ -1,62 +1,95 @@
 package com.cariochi.recordo.assertions;
 
-import com.cariochi.recordo.core.json.JsonConverter;
-import com.cariochi.recordo.core.json.JsonPropertyFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.skyscreamer.jsonassert.JSONCompareResult;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static com.cariochi.recordo.core.json.JsonUtils.compareMode;
-import static java.util.Arrays.asList;
+import java.time.Duration;
 
 @Slf4j
 @RequiredArgsConstructor(staticName = "assertAsJson")
 public class JsonAssertion<T> {
 
-    private final RecordoJsonComparator<T> jsonComparator = new RecordoJsonComparator<>();
     private final T actual;
 
-    private List<String> including = new ArrayList<>();
-    private List<String> excluding = new ArrayList<>();
-    private boolean extensible = false;
-    private boolean strictOrder = true;
+    private JsonAssertionSpec spec = JsonAssertionSpec.DEFAULT;
+    private JsonAssertionSpec.Builder specBuilder;
+
+    /**
+     * Uses compiled options. Options set after this call are applied on top of them.
+     */
+    public JsonAssertion<T> using(JsonAssertionSpec spec) {
+        this.spec = spec;
+        this.specBuilder = null;
+        return this;
+    }
 
     public JsonAssertion<T> using(ObjectMapper mapper) {
-        jsonComparator.setJsonConverter(new JsonConverter(mapper));
+        specBuilder().using(mapper);
         return this;
     }
 
     public JsonAssertion<T> including(String... fields) {
-        this.including = asList(fields);
+        specBuilder().including(fields);
         return this;
     }
 
     public JsonAssertion<T> excluding(String... fields) {
-        this.excluding = asList(fields);
+        specBuilder().excluding(fields);
         return this;
     }
 
     public JsonAssertion<T> extensible(boolean extensible) {
-        this.extensible = extensible;
+        specBuilder().extensible(extensible);
         return this;
     }
 
     public JsonAssertion<T> withStrictOrder(boolean strictOrder) {
-        this.strictOrder = strictOrder;
+        specBuilder().withStrictOrder(strictOrder);
+        return this;
+    }
+
+    /**
+     * @see JsonAssertionSpec.Builder#withTolerance(String, double)
+     */
+    public JsonAssertion<T> withTolerance(String path, double epsilon) {
+        specBuilder().withTolerance(path, epsilon);
+        return this;
+    }
+
+    /**
+     * @see JsonAssertionSpec.Builder#withTimeTolerance(String, Duration)
+     */
+    public JsonAssertion<T> withTimeTolerance(String path, Duration tolerance) {
+        specBuilder().withTimeTolerance(path, tolerance);
+        return this;
+    }
+
+    /**
+     * @see JsonAssertionSpec.Builder#withRegex(String, String)
+     */
+    public JsonAssertion<T> withRegex(String path, String regex) {
+        specBuilder().withRegex(path, regex);
         return this;
     }
 
     public void isEqualTo(String fileName) {
-        final JsonPropertyFilter jsonFilter = new JsonPropertyFilter(including, excluding);
-        final JSONCompareMode compareMode = compareMode(extensible, strictOrder);
-        final JSONCompareResult compareResult = jsonComparator.compareAsJson(actual, fileName, jsonFilter, compareMode);
+        if (specBuilder != null) {
+            spec = specBuilder.build();
+            specBuilder = null;
+        }
+        final JSONCompareResult compareResult = RecordoJsonComparator.compareAsJson(actual, fileName, spec);
         if (compareResult.failed()) {
             throw new AssertionError(compareResult.getMessage());
         }
     }
+
+    private JsonAssertionSpec.Builder specBuilder() {
+        if (specBuilder == null) {
+            specBuilder = spec.toBuilder();
+        }
+        return specBuilder;
+    }
+
 }
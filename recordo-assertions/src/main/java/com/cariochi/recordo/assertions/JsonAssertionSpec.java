@@ -0,0 +1,139 @@
+package com.cariochi.recordo.assertions;
+
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.json.JsonPropertyFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.cariochi.recordo.core.json.JsonUtils.compareMode;
+import static java.util.Arrays.asList;
+
+/**
+ * Immutable, compiled options of JSON assertions: property filter, compare mode, object mapper and comparison rules.
+ * Can be shared as a constant by many assertions.
+ * <pre class="code"><code class="java">
+ * private static final JsonAssertionSpec BOOK = JsonAssertionSpec.builder()
+ *     .excluding("id")
+ *     .withStrictOrder(false)
+ *     .build();
+ *
+ * assertAsJson(book).using(BOOK).isEqualTo("/books/book.json");
+ * assertThat(book).is(equalAsJsonTo("/books/book.json").using(BOOK));
+ * </code></pre>
+ */
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JsonAssertionSpec {
+
+    private static final JsonConverter DEFAULT_CONVERTER = new JsonConverter();
+
+    public static final JsonAssertionSpec DEFAULT = builder().build();
+
+    private final Builder source;
+    private final JsonConverter jsonConverter;
+    private final JSONCompareMode compareMode;
+    private final JsonRules rules;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return source.copy();
+    }
+
+    public static final class Builder {
+
+        private ObjectMapper mapper;
+        private List<String> including = List.of();
+        private List<String> excluding = List.of();
+        private boolean extensible = false;
+        private boolean strictOrder = true;
+        private Map<String, JsonRule> rules = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder using(ObjectMapper mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
+        public Builder including(String... fields) {
+            this.including = asList(fields);
+            return this;
+        }
+
+        public Builder excluding(String... fields) {
+            this.excluding = asList(fields);
+            return this;
+        }
+
+        public Builder extensible(boolean extensible) {
+            this.extensible = extensible;
+            return this;
+        }
+
+        public Builder withStrictOrder(boolean strictOrder) {
+            this.strictOrder = strictOrder;
+            return this;
+        }
+
+        /**
+         * Numbers at the path are equal if they differ by no more than epsilon.
+         * Paths are dot separated field names, where array indexes are omitted and {@code *} matches any field.
+         */
+        public Builder withTolerance(String path, double epsilon) {
+            rules.put(path, JsonRule.tolerance(epsilon));
+            return this;
+        }
+
+        /**
+         * ISO date-times or epoch milliseconds at the path are equal if they differ by no more than the tolerance.
+         */
+        public Builder withTimeTolerance(String path, Duration tolerance) {
+            rules.put(path, JsonRule.timeTolerance(tolerance));
+            return this;
+        }
+
+        /**
+         * Actual values at the path match the regular expression, instead of being equal to expected values.
+         */
+        public Builder withRegex(String path, String regex) {
+            rules.put(path, JsonRule.regex(regex));
+            return this;
+        }
+
+        public JsonAssertionSpec build() {
+            final JsonConverter converter = mapper == null ? DEFAULT_CONVERTER : new JsonConverter(mapper);
+            final JsonPropertyFilter filter = new JsonPropertyFilter(including, excluding);
+            return new JsonAssertionSpec(
+                    copy(),
+                    filter.hasProperties() ? new JsonConverter(converter.objectMapper(filter)) : converter,
+                    compareMode(extensible, strictOrder),
+                    JsonRules.of(rules)
+            );
+        }
+
+        private Builder copy() {
+            final Builder copy = new Builder();
+            copy.mapper = mapper;
+            copy.including = including;
+            copy.excluding = excluding;
+            copy.extensible = extensible;
+            copy.strictOrder = strictOrder;
+            copy.rules = new LinkedHashMap<>(rules);
+            return copy;
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.cariochi.recordo.assertions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Asserts many objects against their expected JSON files with {@link BatchAssertions}.
+ * <pre class="code"><code class="java">
+ * assertAllAsJson(Map.of("/books/book1.json", book1, "/books/book2.json", book2))
+ *     .excluding("id")
+ *     .areEqualToFiles();
+ * </code></pre>
+ *
+ * @param <T> actual value type
+ */
+@RequiredArgsConstructor(staticName = "assertAllAsJson")
+public class JsonBatchAssertion<T> {
+
+    private final Map<String, T> actualByFileName;
+
+    private JsonAssertionSpec spec = JsonAssertionSpec.DEFAULT;
+    private JsonAssertionSpec.Builder specBuilder;
+
+    public JsonBatchAssertion<T> using(JsonAssertionSpec spec) {
+        this.spec = spec;
+        this.specBuilder = null;
+        return this;
+    }
+
+    public JsonBatchAssertion<T> using(ObjectMapper mapper) {
+        specBuilder().using(mapper);
+        return this;
+    }
+
+    public JsonBatchAssertion<T> including(String... fields) {
+        specBuilder().including(fields);
+        return this;
+    }
+
+    public JsonBatchAssertion<T> excluding(String... fields) {
+        specBuilder().excluding(fields);
+        return this;
+    }
+
+    public JsonBatchAssertion<T> extensible(boolean extensible) {
+        specBuilder().extensible(extensible);
+        return this;
+    }
+
+    public JsonBatchAssertion<T> withStrictOrder(boolean strictOrder) {
+        specBuilder().withStrictOrder(strictOrder);
+        return this;
+    }
+
+    public void areEqualToFiles() {
+        final JsonAssertionSpec compiledSpec = specBuilder == null ? spec : specBuilder.build();
+        final List<Runnable> assertions = actualByFileName.entrySet().stream()
+                .map(e -> (Runnable) () -> assertEquals(e.getValue(), e.getKey(), compiledSpec))
+                .collect(toList());
+        BatchAssertions.assertAll(assertions);
+    }
+
+    private void assertEquals(T actual, String fileName, JsonAssertionSpec spec) {
+        try {
+            JsonAssertion.assertAsJson(actual).using(spec).isEqualTo(fileName);
+        } catch (AssertionError e) {
+            throw new AssertionError(fileName + ":\n" + e.getMessage(), e);
+        }
+    }
+
+    private JsonAssertionSpec.Builder specBuilder() {
+        if (specBuilder == null) {
+            specBuilder = spec.toBuilder();
+        }
+        return specBuilder;
+    }
+
+}
@@ -1,21 +1,12 @@
 package com.cariochi.recordo.assertions;
 
-import com.cariochi.recordo.core.json.JsonConverter;
-import com.cariochi.recordo.core.json.JsonPropertyFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
-import lombok.experimental.Accessors;
 import org.assertj.core.api.Condition;
-import org.skyscreamer.jsonassert.JSONCompareMode;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
 import java.util.function.Predicate;
 
-import static com.cariochi.recordo.core.json.JsonUtils.compareMode;
-import static java.util.Arrays.asList;
-
 public class JsonCondition<T> extends Condition<T> {
 
     private final RecordoPredicate<T> predicate;
@@ -29,53 +20,77 @@ public class JsonCondition<T> extends Condition<T> {
         this.predicate = predicate;
     }
 
+    /**
+     * Uses compiled options. Options set after this call are applied on top of them.
+     */
+    public JsonCondition<T> using(JsonAssertionSpec spec) {
+        predicate.spec = spec;
+        predicate.specBuilder = null;
+        return this;
+    }
+
     public JsonCondition<T> using(ObjectMapper mapper) {
-        predicate.using(mapper);
+        predicate.specBuilder().using(mapper);
         return this;
     }
 
     public JsonCondition<T> including(String... fields) {
-        predicate.including(asList(fields));
+        predicate.specBuilder().including(fields);
         return this;
     }
 
     public JsonCondition<T> excluding(String... fields) {
-        predicate.excluding(asList(fields));
+        predicate.specBuilder().excluding(fields);
         return this;
     }
 
     public JsonCondition<T> extensible(boolean extensible) {
-        predicate.extensible(extensible);
+        predicate.specBuilder().extensible(extensible);
         return this;
     }
 
     public JsonCondition<T> withStrictOrder(boolean strictOrder) {
-        predicate.strictOrder(strictOrder);
+        predicate.specBuilder().withStrictOrder(strictOrder);
+        return this;
+    }
+
+    public JsonCondition<T> withTolerance(String path, double epsilon) {
+        predicate.specBuilder().withTolerance(path, epsilon);
+        return this;
+    }
+
+    public JsonCondition<T> withTimeTolerance(String path, Duration tolerance) {
+        predicate.specBuilder().withTimeTolerance(path, tolerance);
+        return this;
+    }
+
+    public JsonCondition<T> withRegex(String path, String regex) {
+        predicate.specBuilder().withRegex(path, regex);
         return this;
     }
 
     @RequiredArgsConstructor
-    @Setter
-    @Accessors(fluent = true)
     private static class RecordoPredicate<T> implements Predicate<T> {
 
-        private final RecordoJsonComparator<T> jsonComparator = new RecordoJsonComparator<>();
         private final String fileName;
 
-        private List<String> including = new ArrayList<>();
-        private List<String> excluding = new ArrayList<>();
-        private boolean extensible = false;
-        private boolean strictOrder = true;
+        private JsonAssertionSpec spec = JsonAssertionSpec.DEFAULT;
+        private JsonAssertionSpec.Builder specBuilder;
 
         @Override
         public boolean test(T actual) {
-            final JsonPropertyFilter jsonFilter = new JsonPropertyFilter(including, excluding);
-            final JSONCompareMode compareMode = compareMode(extensible, strictOrder);
-            return jsonComparator.compareAsJson(actual, fileName, jsonFilter, compareMode).passed();
+            if (specBuilder != null) {
+                spec = specBuilder.build();
+                specBuilder = null;
+            }
+            return RecordoJsonComparator.compareAsJson(actual, fileName, spec).passed();
         }
 
-        public void using(ObjectMapper objectMapper) {
-            jsonComparator.setJsonConverter(new JsonConverter(objectMapper));
+        private JsonAssertionSpec.Builder specBuilder() {
+            if (specBuilder == null) {
+                specBuilder = spec.toBuilder();
+            }
+            return specBuilder;
         }
 
     }
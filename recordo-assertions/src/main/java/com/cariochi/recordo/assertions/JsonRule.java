@@ -0,0 +1,101 @@
+package com.cariochi.recordo.assertions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static java.time.format.DateTimeFormatter.ISO_DATE_TIME;
+
+/**
+ * Comparison rule of a JSON value.
+ */
+interface JsonRule {
+
+    boolean matches(Object expected, Object actual);
+
+    /**
+     * @return expected value description for failure messages
+     */
+    String describe(Object expected);
+
+    /**
+     * Numbers are equal if they differ by no more than epsilon.
+     */
+    static JsonRule tolerance(double epsilon) {
+        return new JsonRule() {
+            @Override
+            public boolean matches(Object expected, Object actual) {
+                return expected instanceof Number && actual instanceof Number
+                       && Math.abs(((Number) expected).doubleValue() - ((Number) actual).doubleValue()) <= epsilon;
+            }
+
+            @Override
+            public String describe(Object expected) {
+                return expected + " ± " + epsilon;
+            }
+        };
+    }
+
+    /**
+     * ISO date-times, or epoch milliseconds, are equal if they differ by no more than the tolerance.
+     * Date-times without offset are treated as UTC.
+     */
+    static JsonRule timeTolerance(Duration tolerance) {
+        return new JsonRule() {
+            @Override
+            public boolean matches(Object expected, Object actual) {
+                final Optional<Instant> expectedInstant = instantOf(expected);
+                final Optional<Instant> actualInstant = instantOf(actual);
+                return expectedInstant.isPresent() && actualInstant.isPresent()
+                       && Duration.between(expectedInstant.get(), actualInstant.get()).abs().compareTo(tolerance) <= 0;
+            }
+
+            @Override
+            public String describe(Object expected) {
+                return expected + " ± " + tolerance;
+            }
+        };
+    }
+
+    /**
+     * Actual value matches the regular expression, whatever the expected value is.
+     */
+    static JsonRule regex(String regex) {
+        final Pattern pattern = Pattern.compile(regex);
+        return new JsonRule() {
+            @Override
+            public boolean matches(Object expected, Object actual) {
+                return actual != null && pattern.matcher(actual.toString()).matches();
+            }
+
+            @Override
+            public String describe(Object expected) {
+                return "value matching " + regex;
+            }
+        };
+    }
+
+    private static Optional<Instant> instantOf(Object value) {
+        if (value instanceof Number) {
+            return Optional.of(Instant.ofEpochMilli(((Number) value).longValue()));
+        }
+        if (value instanceof String) {
+            try {
+                final TemporalAccessor temporal = ISO_DATE_TIME.parseBest((String) value, OffsetDateTime::from, LocalDateTime::from);
+                return Optional.of(temporal instanceof OffsetDateTime
+                        ? ((OffsetDateTime) temporal).toInstant()
+                        : ((LocalDateTime) temporal).toInstant(ZoneOffset.UTC));
+            } catch (DateTimeParseException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+}
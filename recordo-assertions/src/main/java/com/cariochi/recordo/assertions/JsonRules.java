@@ -0,0 +1,125 @@
+package com.cariochi.recordo.assertions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comparison rules indexed by path in a trie of path segments.
+ * <ul>
+ * <li>Paths are dot separated field names, e.g. {@code "books.price"}.
+ * Array indexes are skipped, so a rule applies to all array elements.</li>
+ * <li>{@code "*"} matches any field name.</li>
+ * <li>Lookup walks the JSONassert path in place, without building strings.</li>
+ * </ul>
+ */
+final class JsonRules {
+
+    static final JsonRules EMPTY = new JsonRules(new Node("", null));
+
+    private static final String WILDCARD = "*";
+
+    private final Node root;
+
+    private JsonRules(Node root) {
+        this.root = root;
+    }
+
+    static JsonRules of(Map<String, JsonRule> rules) {
+        if (rules.isEmpty()) {
+            return EMPTY;
+        }
+        final Node root = new Node("", null);
+        rules.forEach((path, rule) -> {
+            Node node = root;
+            for (String segment : path.split("\\.")) {
+                node = node.getOrAddChild(segment);
+            }
+            node.rule = rule;
+        });
+        return new JsonRules(root);
+    }
+
+    boolean isEmpty() {
+        return root.children.isEmpty() && root.wildcard == null;
+    }
+
+    /**
+     * @param path JSONassert path, e.g. {@code "books[1].price"} or {@code "books[id=1].price"}
+     * @return rule of the path, or null
+     */
+    JsonRule find(String path) {
+        return find(root, path, 0);
+    }
+
+    private JsonRule find(Node node, String path, int from) {
+        final int length = path.length();
+        int i = from;
+        while (i < length && (path.charAt(i) == '.' || path.charAt(i) == '[')) {
+            if (path.charAt(i) == '.') {
+                i++;
+            } else {
+                final int end = path.indexOf(']', i);
+                i = end < 0 ? length : end + 1;
+            }
+        }
+        if (i == length) {
+            return node.rule;
+        }
+        int end = i;
+        while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+            end++;
+        }
+        // exact field names take precedence over wildcards
+        JsonRule rule = null;
+        final Node child = node.child(path, i, end - i);
+        if (child != null) {
+            rule = find(child, path, end);
+        }
+        if (rule == null && node.wildcard != null) {
+            rule = find(node.wildcard, path, end);
+        }
+        return rule;
+    }
+
+    private static class Node {
+
+        private final String segment;
+        private final List<Node> children = new ArrayList<>();
+        private Node wildcard;
+        private JsonRule rule;
+
+        Node(String segment, JsonRule rule) {
+            this.segment = segment;
+            this.rule = rule;
+        }
+
+        Node getOrAddChild(String segment) {
+            if (WILDCARD.equals(segment)) {
+                if (wildcard == null) {
+                    wildcard = new Node(segment, null);
+                }
+                return wildcard;
+            }
+            for (Node child : children) {
+                if (child.segment.equals(segment)) {
+                    return child;
+                }
+            }
+            final Node child = new Node(segment, null);
+            children.add(child);
+            return child;
+        }
+
+        Node child(String path, int offset, int length) {
+            for (Node child : children) {
+                if (child.segment.length() == length && path.regionMatches(offset, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
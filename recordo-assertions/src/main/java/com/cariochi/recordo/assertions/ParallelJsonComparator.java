@@ -0,0 +1,196 @@
+package com.cariochi.recordo.assertions;
+
+import lombok.SneakyThrows;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.ValueMatcherException;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.getKeys;
+import static org.skyscreamer.jsonassert.comparator.JSONCompareUtil.qualify;
+
+/**
+ * {@link TolerantComparator} which compares object fields, and array chunks in strict order mode, in parallel.
+ * <ul>
+ * <li>Subtrees are forked on the common fork-join pool down to {@value #MAX_FORK_DEPTH} levels of nesting.</li>
+ * <li>Each subtree is compared into its own recording result, and results are replayed in the sequential order,
+ * so the failure message is the same as the one of {@link DefaultComparator}.</li>
+ * </ul>
+ */
+class ParallelJsonComparator extends TolerantComparator {
+
+    private static final int MAX_FORK_DEPTH = 3;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public ParallelJsonComparator(JSONCompareMode mode) {
+        this(mode, JsonRules.EMPTY);
+    }
+
+    public ParallelJsonComparator(JSONCompareMode mode, JsonRules rules) {
+        super(mode, rules);
+    }
+
+    @Override
+    public void compareJSON(String prefix, JSONObject expected, JSONObject actual, JSONCompareResult result) throws JSONException {
+        if (ForkJoinTask.inForkJoinPool()) {
+            super.compareJSON(prefix, expected, actual, result);
+        } else {
+            pool.invoke(action(() -> super.compareJSON(prefix, expected, actual, result)));
+        }
+    }
+
+    @Override
+    public void compareJSONArray(String prefix, JSONArray expected, JSONArray actual, JSONCompareResult result) throws JSONException {
+        if (ForkJoinTask.inForkJoinPool()) {
+            super.compareJSONArray(prefix, expected, actual, result);
+        } else {
+            pool.invoke(action(() -> super.compareJSONArray(prefix, expected, actual, result)));
+        }
+    }
+
+    @Override
+    protected void checkJsonObjectKeysExpectedInActual(String prefix,
+                                                       JSONObject expected,
+                                                       JSONObject actual,
+                                                       JSONCompareResult result) throws JSONException {
+        if (expected.length() < 2 || depthOf(prefix) >= MAX_FORK_DEPTH) {
+            super.checkJsonObjectKeysExpectedInActual(prefix, expected, actual, result);
+            return;
+        }
+        final List<RecordingResult> results = new ArrayList<>();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (String key : getKeys(expected)) {
+            final RecordingResult fieldResult = new RecordingResult();
+            results.add(fieldResult);
+            if (actual.has(key)) {
+                final Object expectedValue = expected.get(key);
+                final Object actualValue = actual.get(key);
+                tasks.add(action(() -> compareValues(qualify(prefix, key), expectedValue, actualValue, fieldResult)));
+            } else {
+                fieldResult.missing(prefix, key);
+            }
+        }
+        ForkJoinTask.invokeAll(tasks);
+        results.forEach(r -> r.replay(result));
+    }
+
+    @Override
+    protected void compareJSONArrayWithStrictOrder(String prefix,
+                                                   JSONArray expected,
+                                                   JSONArray actual,
+                                                   JSONCompareResult result) throws JSONException {
+        final int length = expected.length();
+        final int chunks = Math.min(length, pool.getParallelism() * CHUNKS_PER_THREAD);
+        if (chunks < 2 || depthOf(prefix) >= MAX_FORK_DEPTH) {
+            super.compareJSONArrayWithStrictOrder(prefix, expected, actual, result);
+            return;
+        }
+        final List<RecordingResult> results = new ArrayList<>();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            final int from = (int) ((long) length * chunk / chunks);
+            final int to = (int) ((long) length * (chunk + 1) / chunks);
+            final RecordingResult chunkResult = new RecordingResult();
+            results.add(chunkResult);
+            tasks.add(action(() -> {
+                for (int i = from; i < to; i++) {
+                    compareValues(prefix + "[" + i + "]", expected.get(i), actual.get(i), chunkResult);
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        results.forEach(r -> r.replay(result));
+    }
+
+    private static int depthOf(String prefix) {
+        int depth = prefix.isEmpty() ? 0 : 1;
+        for (int i = 0; i < prefix.length(); i++) {
+            final char c = prefix.charAt(i);
+            if (c == '.' || c == '[') {
+                depth++;
+            }
+        }
+        return depth;
+    }
+
+    private static RecursiveAction action(Comparison comparison) {
+        return new RecursiveAction() {
+            @Override
+            @SneakyThrows
+            protected void compute() {
+                comparison.compare();
+            }
+        };
+    }
+
+    private interface Comparison {
+
+        void compare() throws JSONException;
+
+    }
+
+    /**
+     * Records comparison events to replay them later in a parent result.
+     */
+    private static class RecordingResult extends JSONCompareResult {
+
+        private final List<Consumer<JSONCompareResult>> events = new ArrayList<>();
+
+        @Override
+        public boolean passed() {
+            return events.isEmpty();
+        }
+
+        @Override
+        public boolean failed() {
+            return !events.isEmpty();
+        }
+
+        @Override
+        public void fail(String message) {
+            events.add(r -> r.fail(message));
+        }
+
+        @Override
+        public JSONCompareResult fail(String field, Object expected, Object actual) {
+            events.add(r -> r.fail(field, expected, actual));
+            return this;
+        }
+
+        @Override
+        public JSONCompareResult fail(String field, ValueMatcherException exception) {
+            events.add(r -> r.fail(field, exception));
+            return this;
+        }
+
+        @Override
+        public JSONCompareResult missing(String field, Object expected) {
+            events.add(r -> r.missing(field, expected));
+            return this;
+        }
+
+        @Override
+        public JSONCompareResult unexpected(String field, Object actual) {
+            events.add(r -> r.unexpected(field, actual));
+            return this;
+        }
+
+        void replay(JSONCompareResult result) {
+            events.forEach(event -> event.accept(result));
+        }
+
+    }
+
+}
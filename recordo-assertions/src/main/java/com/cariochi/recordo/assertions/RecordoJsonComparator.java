@@ -1,45 +1,111 @@
 package com.cariochi.recordo.assertions;
 
 import com.cariochi.recordo.core.json.JsonConverter;
-import com.cariochi.recordo.core.json.JsonPropertyFilter;
+import com.cariochi.recordo.core.utils.FileCache;
 import com.cariochi.recordo.core.utils.Files;
-import lombok.Setter;
+import com.cariochi.recordo.core.utils.Properties;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.comparator.JSONComparator;
+
+import java.io.Reader;
+import java.util.OptionalLong;
 
 import static org.skyscreamer.jsonassert.JSONCompare.compareJSON;
 
 @Slf4j
-class RecordoJsonComparator<T> {
+@UtilityClass
+class RecordoJsonComparator {
 
-    @Setter
-    private JsonConverter jsonConverter = new JsonConverter();
+    private final int PARALLEL_THRESHOLD = Properties.jsonCompareParallelThreshold();
+    private final FileCache<OptionalLong> STRICT_ORDER_HASHES = new FileCache<>();
+    private final FileCache<OptionalLong> ANY_ORDER_HASHES = new FileCache<>();
+    private final ObjectMapper TREE_MAPPER = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
 
     @SneakyThrows
-    public JSONCompareResult compareAsJson(
-            Object actualObject,
-            String expectedFileName,
-            JsonPropertyFilter jsonFilter,
-            JSONCompareMode compareMode
-    ) {
-        final String actualJson = jsonConverter.toJson(actualObject, jsonFilter);
+    public JSONCompareResult compareAsJson(Object actualObject, String expectedFileName, JsonAssertionSpec spec) {
+        final JsonConverter jsonConverter = spec.getJsonConverter();
+        final JSONCompareMode compareMode = spec.getCompareMode();
+        final TokenBuffer actualTokens = jsonConverter.toTokens(actualObject, null);
         if (Files.exists(expectedFileName)) {
+            if (equalAsTrees(actualTokens, expectedFileName, compareMode.hasStrictOrder())) {
+                return new JSONCompareResult();
+            }
+            final String actualJson = toJson(jsonConverter, actualObject, actualTokens);
             final String expectedJson = Files.read(expectedFileName);
-            final JSONCompareResult result = compareJSON(expectedJson, actualJson, compareMode);
+            final JSONCompareResult result = compareJSON(expectedJson, actualJson, comparator(expectedJson, compareMode, spec.getRules()));
+            if (result.failed() && SnapshotUpdates.enabled()) {
+                Files.writeAsync(actualJson, expectedFileName).ifPresent(SnapshotUpdates::updated);
+                return new JSONCompareResult();
+            }
             if (result.failed()) {
-                Files.write(actualJson, actualFileName(expectedFileName))
-                        .ifPresent(file -> log.info(result.getMessage() + "\nActual value is saved to file://{}", file));
+                Files.writeAsync(actualJson, actualFileName(expectedFileName))
+                        .ifPresent(Files.whenWritten(file -> log.info(result.getMessage() + "\nActual value is saved to file://{}", file)));
             }
             return result;
+        } else if (SnapshotUpdates.enabled()) {
+            Files.writeAsync(toJson(jsonConverter, actualObject, actualTokens), expectedFileName)
+                    .ifPresent(SnapshotUpdates::updated);
+            return new JSONCompareResult();
         } else {
-            Files.write(actualJson, expectedFileName)
-                    .ifPresent(file -> log.info("\nExpected value is saved to file://{}", file));
+            Files.writeAsync(toJson(jsonConverter, actualObject, actualTokens), expectedFileName)
+                    .ifPresent(Files.whenWritten(file -> log.info("\nExpected value is saved to file://{}", file)));
             return failed();
         }
     }
 
+    /**
+     * Fast path for passing assertions: equal JSON trees pass in any compare mode.
+     * Trees are compared only if structural hashes match, as hashes may collide.
+     * Only hashes are cached: expected trees are parsed per comparison, so they are not retained in memory.
+     */
+    @SneakyThrows
+    private boolean equalAsTrees(TokenBuffer actualTokens, String expectedFileName, boolean strictOrder) {
+        final FileCache<OptionalLong> hashes = strictOrder ? STRICT_ORDER_HASHES : ANY_ORDER_HASHES;
+        final OptionalLong expectedHash = hashes.get(expectedFileName, file -> StructuralHash.of(Files.reader(file), strictOrder));
+        if (expectedHash.isEmpty()) {
+            return false;
+        }
+        try (JsonParser actualParser = actualTokens.asParser()) {
+            if (!expectedHash.equals(StructuralHash.of(actualParser, strictOrder))) {
+                return false;
+            }
+        }
+        final JsonNode expectedTree = readTree(expectedFileName);
+        try (JsonParser actualParser = actualTokens.asParser()) {
+            return StructuralEquality.equal(expectedTree, TREE_MAPPER.readTree(actualParser), strictOrder);
+        }
+    }
+
+    @SneakyThrows
+    private JsonNode readTree(String file) {
+        try (Reader reader = Files.reader(file)) {
+            return TREE_MAPPER.readTree(reader);
+        }
+    }
+
+    /**
+     * Pretty printed actual JSON is rendered only for comparison failures and new files.
+     */
+    private String toJson(JsonConverter jsonConverter, Object actualObject, TokenBuffer actualTokens) {
+        return actualObject instanceof String ? (String) actualObject : jsonConverter.toJson(actualTokens);
+    }
+
+    private JSONComparator comparator(String expectedJson, JSONCompareMode compareMode, JsonRules rules) {
+        return expectedJson.length() >= PARALLEL_THRESHOLD
+                ? new ParallelJsonComparator(compareMode, rules)
+                : new TolerantComparator(compareMode, rules);
+    }
+
     private String actualFileName(String expectedFileName) {
         return new StringBuilder(expectedFileName)
                 .insert(expectedFileName.lastIndexOf('/') + 1, "ACTUAL/")
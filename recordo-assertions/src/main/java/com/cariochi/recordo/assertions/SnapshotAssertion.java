@@ -0,0 +1,63 @@
+package com.cariochi.recordo.assertions;
+
+import com.cariochi.recordo.assertions.snapshot.Snapshot;
+import com.cariochi.recordo.assertions.snapshot.SnapshotFormats;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asserts a value against a snapshot file, compared by the {@link com.cariochi.recordo.assertions.snapshot.SnapshotFormat}
+ * supporting the file name: XML, YAML, Protobuf text or binary.
+ * <pre class="code"><code class="java">
+ * assertSnapshot(soapResponse).isEqualTo("/soap/response.xml");
+ * assertSnapshot(Path.of("target/report.pdf")).isEqualTo("/reports/report.pdf");
+ * </code></pre>
+ */
+@Slf4j
+public class SnapshotAssertion {
+
+    private final Snapshot actual;
+
+    private SnapshotAssertion(Snapshot actual) {
+        this.actual = actual;
+    }
+
+    /**
+     * @param actual {@link CharSequence}, {@code byte[]}, {@link java.nio.file.Path} or {@link java.io.File}
+     */
+    public static SnapshotAssertion assertSnapshot(Object actual) {
+        return new SnapshotAssertion(Snapshot.of(actual));
+    }
+
+    @SneakyThrows
+    public void isEqualTo(String fileName) {
+        if (Files.exists(fileName)) {
+            try {
+                SnapshotFormats.formatOf(fileName).compare(Snapshot.ofResource(fileName), actual);
+            } catch (AssertionError e) {
+                if (SnapshotUpdates.enabled()) {
+                    actual.writeTo(fileName).ifPresent(SnapshotUpdates::updated);
+                    return;
+                }
+                actual.writeTo(actualFileName(fileName))
+                        .ifPresent(Files.whenWritten(file -> log.info("\nActual value is saved to file://{}", file)));
+                throw e;
+            }
+        } else if (SnapshotUpdates.enabled()) {
+            actual.writeTo(fileName).ifPresent(SnapshotUpdates::updated);
+        } else {
+            actual.writeTo(fileName)
+                    .ifPresent(Files.whenWritten(file -> log.info("\nExpected value is saved to file://{}", file)));
+            throw new AssertionError("Expected snapshot file not found");
+        }
+    }
+
+    private String actualFileName(String expectedFileName) {
+        return new StringBuilder(expectedFileName)
+                .insert(expectedFileName.lastIndexOf('/') + 1, "ACTUAL/")
+                .toString();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.cariochi.recordo.assertions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Exact equality of JSON trees, cheaper than a JSONassert comparison.
+ * <ul>
+ * <li>Object fields are compared regardless of their order.</li>
+ * <li>Array elements are compared in order, or as a multiset if order is not strict.</li>
+ * <li>Numbers are compared by their exact decimal values.</li>
+ * </ul>
+ * Equal trees pass a JSONassert comparison in any compare mode with the same strict order flag.
+ * Different trees may pass it too, so they must be compared by JSONassert.
+ */
+@UtilityClass
+class StructuralEquality {
+
+    public boolean equal(JsonNode expected, JsonNode actual, boolean strictOrder) {
+        if (expected.isNumber() && actual.isNumber()) {
+            return expected.decimalValue().compareTo(actual.decimalValue()) == 0;
+        }
+        if (expected.getNodeType() != actual.getNodeType() || expected.size() != actual.size()) {
+            return false;
+        }
+        if (expected.isObject()) {
+            final Iterator<Entry<String, JsonNode>> fields = expected.fields();
+            while (fields.hasNext()) {
+                final Entry<String, JsonNode> field = fields.next();
+                final JsonNode actualValue = actual.get(field.getKey());
+                if (actualValue == null || !equal(field.getValue(), actualValue, strictOrder)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expected.isArray()) {
+            return strictOrder ? equalInOrder(expected, actual) : equalInAnyOrder(expected, actual);
+        }
+        return expected.equals(actual);
+    }
+
+    private boolean equalInOrder(JsonNode expected, JsonNode actual) {
+        for (int i = 0; i < expected.size(); i++) {
+            if (!equal(expected.get(i), actual.get(i), true)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Actual elements are grouped by their structural hashes, so only elements with equal hashes are compared.
+     * Equality is transitive, so matching the first equal element of a group never needs backtracking.
+     */
+    private boolean equalInAnyOrder(JsonNode expected, JsonNode actual) {
+        final Map<Long, List<JsonNode>> candidates = new HashMap<>();
+        for (JsonNode element : actual) {
+            candidates.computeIfAbsent(StructuralHash.of(element, false), h -> new ArrayList<>()).add(element);
+        }
+        for (JsonNode element : expected) {
+            final List<JsonNode> group = candidates.get(StructuralHash.of(element, false));
+            if (group == null || !removeEqual(group, element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean removeEqual(List<JsonNode> group, JsonNode element) {
+        final Iterator<JsonNode> iterator = group.iterator();
+        while (iterator.hasNext()) {
+            if (equal(element, iterator.next(), false)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
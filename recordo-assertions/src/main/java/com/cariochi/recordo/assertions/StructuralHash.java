@@ -0,0 +1,129 @@
+package com.cariochi.recordo.assertions;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.OptionalLong;
+
+/**
+ * Canonical 64-bit hash of a JSON document.
+ * <ul>
+ * <li>Object fields are hashed regardless of their order.</li>
+ * <li>Array elements are hashed in order, or as a multiset if order is not strict.</li>
+ * <li>Numbers are hashed by their double values, as they are compared by JSONassert.</li>
+ * </ul>
+ * Different hashes mean that the documents are not equal. Equal hashes don't mean that they are equal:
+ * hashes of different documents may collide, e.g. integers above 2<sup>53</sup> have equal double values.
+ * Documents with equal hashes must be compared by {@link StructuralEquality}.
+ */
+@UtilityClass
+class StructuralHash {
+
+    private final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final long OBJECT_SEED = 0x9e3779b97f4a7c15L;
+    private final long ARRAY_SEED = 0xc2b2ae3d27d4eb4fL;
+    private final long STRING_SEED = 0x165667b19e3779f9L;
+    private final long NUMBER_SEED = 0x27d4eb2f165667c5L;
+    private final long TRUE = 0x4cf5ad432745937fL;
+    private final long FALSE = 0x2545f4914f6cdd1dL;
+    private final long NULL = 0x61c8864680b583ebL;
+
+    private final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private final long FNV_PRIME = 0x100000001b3L;
+
+    public OptionalLong of(String json, boolean strictOrder) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return of(parser, strictOrder);
+        } catch (IOException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    public OptionalLong of(Reader json, boolean strictOrder) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return of(parser, strictOrder);
+        } catch (IOException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    public long of(JsonNode json, boolean strictOrder) {
+        try (JsonParser parser = json.traverse()) {
+            return of(parser, strictOrder).orElseThrow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return hash of the JSON tokens, or empty if the JSON can't be parsed
+     */
+    public OptionalLong of(JsonParser parser, boolean strictOrder) {
+        try {
+            final JsonToken token = parser.nextToken();
+            if (token == null) {
+                return OptionalLong.empty();
+            }
+            final long hash = hash(parser, token, strictOrder);
+            return parser.nextToken() == null ? OptionalLong.of(hash) : OptionalLong.empty();
+        } catch (IOException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private long hash(JsonParser parser, JsonToken token, boolean strictOrder) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                long objectHash = OBJECT_SEED;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final long name = hash(parser.getCurrentName());
+                    objectHash += mix(name * 31 + hash(parser, parser.nextToken(), strictOrder));
+                }
+                return mix(objectHash);
+            case START_ARRAY:
+                long arrayHash = ARRAY_SEED;
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    final long elementHash = hash(parser, element, strictOrder);
+                    arrayHash = strictOrder ? arrayHash * 31 + elementHash : arrayHash + mix(elementHash);
+                }
+                return mix(arrayHash);
+            case VALUE_STRING:
+                return mix(STRING_SEED ^ hash(parser.getText()));
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                final double number = parser.getDoubleValue();
+                return mix(NUMBER_SEED ^ (number == 0 ? 0 : Double.doubleToLongBits(number)));
+            case VALUE_TRUE:
+                return TRUE;
+            case VALUE_FALSE:
+                return FALSE;
+            case VALUE_NULL:
+                return NULL;
+            default:
+                throw new IOException("Unexpected token " + token);
+        }
+    }
+
+    private long hash(String s) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < s.length(); i++) {
+            hash = (hash ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.cariochi.recordo.assertions;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * {@link DefaultComparator} which applies {@link JsonRules} to leaf values.
+ * <ul>
+ * <li>Arrays of simple values in non-strict order mode are matched element by element, instead of by cardinality:
+ * equal values first, then values matching the rule, in the order of expected values.</li>
+ * </ul>
+ */
+class TolerantComparator extends DefaultComparator {
+
+    private final JsonRules rules;
+
+    public TolerantComparator(JSONCompareMode mode, JsonRules rules) {
+        super(mode);
+        this.rules = rules;
+    }
+
+    @Override
+    public void compareValues(String prefix, Object expected, Object actual, JSONCompareResult result) throws JSONException {
+        if (!rules.isEmpty() && !isContainer(expected) && !isContainer(actual)) {
+            final JsonRule rule = rules.find(prefix);
+            if (rule != null) {
+                if (!rule.matches(expected, actual)) {
+                    result.fail(prefix, rule.describe(expected), actual);
+                }
+                return;
+            }
+        }
+        super.compareValues(prefix, expected, actual, result);
+    }
+
+    @Override
+    protected void compareJSONArrayOfSimpleValues(String key,
+                                                  JSONArray expected,
+                                                  JSONArray actual,
+                                                  JSONCompareResult result) throws JSONException {
+        final JsonRule rule = rules.isEmpty() ? null : rules.find(key);
+        if (rule == null) {
+            super.compareJSONArrayOfSimpleValues(key, expected, actual, result);
+            return;
+        }
+        final List<Object> unmatched = new ArrayList<>();
+        for (int i = 0; i < actual.length(); i++) {
+            unmatched.add(actual.get(i));
+        }
+        final List<Object> notEqual = new ArrayList<>();
+        for (int i = 0; i < expected.length(); i++) {
+            final Object expectedValue = expected.get(i);
+            if (!removeFirst(unmatched, expectedValue, Objects::equals)) {
+                notEqual.add(expectedValue);
+            }
+        }
+        for (Object expectedValue : notEqual) {
+            if (!removeFirst(unmatched, expectedValue, rule::matches)) {
+                result.missing(key + "[]", rule.describe(expectedValue));
+            }
+        }
+        unmatched.forEach(actualValue -> result.unexpected(key + "[]", actualValue));
+    }
+
+    private static boolean removeFirst(List<Object> values, Object expected, BiPredicate<Object, Object> matcher) {
+        final Iterator<Object> iterator = values.iterator();
+        while (iterator.hasNext()) {
+            if (matcher.test(expected, iterator.next())) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isContainer(Object value) {
+        return value instanceof JSONObject || value instanceof JSONArray;
+    }
+
+}
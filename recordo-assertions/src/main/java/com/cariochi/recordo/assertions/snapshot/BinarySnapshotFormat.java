@@ -0,0 +1,52 @@
+package com.cariochi.recordo.assertions.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.lang.String.format;
+
+/**
+ * Compares any file byte by byte, without loading it onto the heap.
+ * <ul>
+ * <li>Files are memory-mapped chunk by chunk.</li>
+ * <li>Mapped chunks are compared directly with {@link ByteBuffer#mismatch(ByteBuffer)},
+ * which stops at the first differing byte.</li>
+ * </ul>
+ */
+class BinarySnapshotFormat implements SnapshotFormat {
+
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int CONTEXT_BYTES = 16;
+
+    @Override
+    public boolean supports(String fileName) {
+        return true;
+    }
+
+    @Override
+    public void compare(Snapshot expected, Snapshot actual) throws IOException {
+        final long size = expected.size();
+        if (size != actual.size()) {
+            throw new AssertionError(format("Binary snapshots differ in size%nExpected: %d bytes%nActual:   %d bytes", size, actual.size()));
+        }
+        for (long offset = 0; offset < size; offset += CHUNK_SIZE) {
+            final int length = (int) Math.min(CHUNK_SIZE, size - offset);
+            final ByteBuffer expectedChunk = expected.region(offset, length);
+            final ByteBuffer actualChunk = actual.region(offset, length);
+            final int mismatch = expectedChunk.mismatch(actualChunk);
+            if (mismatch >= 0) {
+                throw new AssertionError(format("Binary snapshots differ at offset %d%nExpected: %s%nActual:   %s",
+                        offset + mismatch, hex(expectedChunk, mismatch), hex(actualChunk, mismatch)));
+            }
+        }
+    }
+
+    private static String hex(ByteBuffer buffer, int from) {
+        final StringBuilder hex = new StringBuilder();
+        for (int i = from; i < Math.min(buffer.limit(), from + CONTEXT_BYTES); i++) {
+            hex.append(format("%02x ", buffer.get(i)));
+        }
+        return hex.toString().trim();
+    }
+
+}
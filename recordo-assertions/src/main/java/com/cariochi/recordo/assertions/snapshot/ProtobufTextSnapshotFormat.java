@@ -0,0 +1,45 @@
+package com.cariochi.recordo.assertions.snapshot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.util.Objects;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.endsWithAny;
+
+/**
+ * Compares Protobuf text format files line by line, ignoring indentation, blank lines and comments.
+ */
+class ProtobufTextSnapshotFormat implements SnapshotFormat {
+
+    @Override
+    public boolean supports(String fileName) {
+        return endsWithAny(fileName, ".textproto", ".txtpb", ".pbtxt");
+    }
+
+    @Override
+    public void compare(Snapshot expected, Snapshot actual) throws IOException {
+        try (LineNumberReader expectedReader = new LineNumberReader(expected.reader());
+             BufferedReader actualReader = new BufferedReader(actual.reader())) {
+            String expectedLine;
+            do {
+                expectedLine = nextLine(expectedReader);
+                final String actualLine = nextLine(actualReader);
+                if (!Objects.equals(expectedLine, actualLine)) {
+                    throw new AssertionError(format("Protobuf text snapshots differ at expected line %d%nExpected: %s%nActual:   %s",
+                            expectedReader.getLineNumber(), expectedLine, actualLine));
+                }
+            } while (expectedLine != null);
+        }
+    }
+
+    private String nextLine(BufferedReader reader) throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && (line.isBlank() || line.strip().startsWith("#")));
+        return line == null ? null : line.strip();
+    }
+
+}
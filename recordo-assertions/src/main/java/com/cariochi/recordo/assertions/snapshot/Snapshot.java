@@ -0,0 +1,128 @@
+package com.cariochi.recordo.assertions.snapshot;
+
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Content of a snapshot, either in memory or in a file.
+ */
+public abstract class Snapshot {
+
+    /**
+     * @param value {@link CharSequence}, {@code byte[]}, {@link Path} or {@link File}
+     */
+    public static Snapshot of(Object value) {
+        if (value instanceof Snapshot) {
+            return (Snapshot) value;
+        } else if (value instanceof CharSequence) {
+            return new InMemory(value.toString().getBytes(UTF_8));
+        } else if (value instanceof byte[]) {
+            return new InMemory((byte[]) value);
+        } else if (value instanceof Path) {
+            return new InFile((Path) value);
+        } else if (value instanceof File) {
+            return new InFile(((File) value).toPath());
+        }
+        throw new IllegalArgumentException("Unsupported snapshot type: " + (value == null ? null : value.getClass()));
+    }
+
+    /**
+     * @param fileName resource file name, possibly pending in {@link AsyncFileWriter}
+     */
+    public static Snapshot ofResource(String fileName) {
+        final Path path = Files.path(fileName);
+        return AsyncFileWriter.pending(path).<Snapshot>map(InMemory::new).orElseGet(() -> new InFile(path));
+    }
+
+    public abstract long size() throws IOException;
+
+    public abstract InputStream inputStream() throws IOException;
+
+    public Reader reader() throws IOException {
+        return new BufferedReader(new InputStreamReader(inputStream(), UTF_8));
+    }
+
+    /**
+     * @return read-only region of the content, memory-mapped for files
+     */
+    public abstract ByteBuffer region(long offset, int length) throws IOException;
+
+    /**
+     * Writes the content to a resource file.
+     */
+    public abstract Optional<Path> writeTo(String fileName);
+
+    @RequiredArgsConstructor
+    private static class InMemory extends Snapshot {
+
+        private final byte[] bytes;
+
+        @Override
+        public long size() {
+            return bytes.length;
+        }
+
+        @Override
+        public InputStream inputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public ByteBuffer region(long offset, int length) {
+            return ByteBuffer.wrap(bytes, (int) offset, length).slice().asReadOnlyBuffer();
+        }
+
+        @Override
+        public Optional<Path> writeTo(String fileName) {
+            return Files.writeAsync(bytes, fileName);
+        }
+
+    }
+
+    @RequiredArgsConstructor
+    private static class InFile extends Snapshot {
+
+        private final Path file;
+
+        @Override
+        public long size() throws IOException {
+            return java.nio.file.Files.size(file);
+        }
+
+        @Override
+        public InputStream inputStream() throws IOException {
+            return java.nio.file.Files.newInputStream(file);
+        }
+
+        @Override
+        public ByteBuffer region(long offset, int length) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, READ)) {
+                return channel.map(READ_ONLY, offset, length);
+            }
+        }
+
+        @Override
+        public Optional<Path> writeTo(String fileName) {
+            return Files.copy(file, fileName);
+        }
+
+    }
+
+}
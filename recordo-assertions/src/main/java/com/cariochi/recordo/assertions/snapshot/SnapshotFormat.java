@@ -0,0 +1,20 @@
+package com.cariochi.recordo.assertions.snapshot;
+
+import java.io.IOException;
+
+/**
+ * Format of snapshot files compared by {@link com.cariochi.recordo.assertions.SnapshotAssertion}.
+ * <p>
+ * Custom formats are discovered with {@link java.util.ServiceLoader}
+ * and take precedence over the built-in XML, YAML, Protobuf text and binary formats.
+ */
+public interface SnapshotFormat {
+
+    boolean supports(String fileName);
+
+    /**
+     * @throws AssertionError describing the first difference if snapshots are not equal
+     */
+    void compare(Snapshot expected, Snapshot actual) throws IOException;
+
+}
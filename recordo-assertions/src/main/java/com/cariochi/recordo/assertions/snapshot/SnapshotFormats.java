@@ -0,0 +1,30 @@
+package com.cariochi.recordo.assertions.snapshot;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+import java.util.ServiceLoader.Provider;
+import java.util.stream.Stream;
+
+import static java.util.ServiceLoader.load;
+import static java.util.stream.Collectors.toList;
+
+@UtilityClass
+public class SnapshotFormats {
+
+    private final List<SnapshotFormat> formats = Stream.concat(
+            load(SnapshotFormat.class).stream().map(Provider::get),
+            Stream.of(new XmlSnapshotFormat(), new YamlSnapshotFormat(), new ProtobufTextSnapshotFormat(), new BinarySnapshotFormat())
+    ).collect(toList());
+
+    /**
+     * @return the first format supporting the file, falling back to the binary format
+     */
+    public SnapshotFormat formatOf(String fileName) {
+        return formats.stream()
+                .filter(format -> format.supports(fileName))
+                .findFirst()
+                .orElseThrow();
+    }
+
+}
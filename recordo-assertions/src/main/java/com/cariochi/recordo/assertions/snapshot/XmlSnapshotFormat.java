@@ -0,0 +1,116 @@
+package com.cariochi.recordo.assertions.snapshot;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.String.format;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.apache.commons.lang3.StringUtils.endsWithAny;
+
+/**
+ * Compares XML files as StAX event streams.
+ * <ul>
+ * <li>Elements and attributes are compared by namespace URI and local name, ignoring prefixes.</li>
+ * <li>Attribute order, comments, processing instructions and whitespace between elements are ignored.</li>
+ * <li>Text is compared trimmed.</li>
+ * </ul>
+ */
+class XmlSnapshotFormat implements SnapshotFormat {
+
+    private static final XMLInputFactory FACTORY = factory();
+
+    @Override
+    public boolean supports(String fileName) {
+        return endsWithAny(fileName, ".xml", ".xsd", ".wsdl");
+    }
+
+    @Override
+    public void compare(Snapshot expected, Snapshot actual) throws IOException {
+        try (Reader expectedReader = expected.reader(); Reader actualReader = actual.reader()) {
+            final XMLStreamReader expectedXml = FACTORY.createXMLStreamReader(expectedReader);
+            final XMLStreamReader actualXml = FACTORY.createXMLStreamReader(actualReader);
+            final Deque<String> path = new ArrayDeque<>();
+            int event;
+            do {
+                event = next(expectedXml);
+                final int actualEvent = next(actualXml);
+                if (event != actualEvent || !describe(expectedXml).equals(describe(actualXml))) {
+                    throw new AssertionError(format("XML snapshots differ at /%s%nExpected: %s%nActual:   %s",
+                            String.join("/", path), describe(expectedXml), describe(actualXml)));
+                }
+                if (event == START_ELEMENT) {
+                    path.addLast(expectedXml.getLocalName());
+                } else if (event == END_ELEMENT) {
+                    path.removeLast();
+                }
+            } while (event != END_DOCUMENT);
+        } catch (XMLStreamException e) {
+            throw new AssertionError("XML snapshot can't be parsed: " + e.getMessage(), e);
+        }
+    }
+
+    private int next(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            switch (event) {
+                case START_ELEMENT:
+                case END_ELEMENT:
+                case END_DOCUMENT:
+                    return event;
+                case CHARACTERS:
+                case CDATA:
+                    if (!reader.isWhiteSpace() && !reader.getText().isBlank()) {
+                        return CHARACTERS;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return END_DOCUMENT;
+    }
+
+    private String describe(XMLStreamReader reader) {
+        switch (reader.getEventType()) {
+            case START_ELEMENT:
+                final Map<String, String> attributes = new TreeMap<>();
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    attributes.put(name(reader.getAttributeName(i)), reader.getAttributeValue(i));
+                }
+                return "<" + name(reader.getName()) + (attributes.isEmpty() ? "" : " " + attributes) + ">";
+            case END_ELEMENT:
+                return "</" + name(reader.getName()) + ">";
+            case CHARACTERS:
+            case CDATA:
+                return reader.getText().strip();
+            default:
+                return "end of document";
+        }
+    }
+
+    private String name(QName name) {
+        return name.getNamespaceURI().isEmpty() ? name.getLocalPart() : "{" + name.getNamespaceURI() + "}" + name.getLocalPart();
+    }
+
+    private static XMLInputFactory factory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.cariochi.recordo.assertions.snapshot;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.endsWithAny;
+
+/**
+ * Compares YAML files token by token, in document order.
+ */
+class YamlSnapshotFormat implements SnapshotFormat {
+
+    private static final YAMLFactory FACTORY = new YAMLFactory();
+
+    @Override
+    public boolean supports(String fileName) {
+        return endsWithAny(fileName, ".yaml", ".yml");
+    }
+
+    @Override
+    public void compare(Snapshot expected, Snapshot actual) throws IOException {
+        try (JsonParser expectedYaml = FACTORY.createParser(expected.reader());
+             JsonParser actualYaml = FACTORY.createParser(actual.reader())) {
+            JsonToken token;
+            do {
+                token = expectedYaml.nextToken();
+                final JsonToken actualToken = actualYaml.nextToken();
+                if (token != actualToken || !Objects.equals(text(expectedYaml), text(actualYaml))) {
+                    throw new AssertionError(format("YAML snapshots differ at %s%nExpected: %s%nActual:   %s",
+                            expectedYaml.getParsingContext().pathAsPointer(), describe(expectedYaml), describe(actualYaml)));
+                }
+            } while (token != null);
+        }
+    }
+
+    private String text(JsonParser parser) throws IOException {
+        return parser.currentToken() == null || parser.currentToken().isStructStart() || parser.currentToken().isStructEnd()
+                ? null
+                : parser.getText();
+    }
+
+    private String describe(JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == null) {
+            return "end of document";
+        }
+        return token == JsonToken.FIELD_NAME ? "key '" + parser.getText() + "'" : parser.getText();
+    }
+
+}
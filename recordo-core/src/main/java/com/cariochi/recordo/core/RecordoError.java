@@ -9,4 +9,8 @@ public class RecordoError extends RuntimeException {
     public RecordoError(Throwable e) {
         super(e);
     }
+
+    public RecordoError(String message, Throwable e) {
+        super(message, e);
+    }
 }
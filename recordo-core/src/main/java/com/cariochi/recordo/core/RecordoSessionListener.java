@@ -0,0 +1,13 @@
+package com.cariochi.recordo.core;
+
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+public class RecordoSessionListener implements LauncherSessionListener {
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        SessionHooks.close();
+    }
+
+}
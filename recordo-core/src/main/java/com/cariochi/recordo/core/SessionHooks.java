@@ -0,0 +1,47 @@
+package com.cariochi.recordo.core;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Actions executed when the JUnit platform session is closed.
+ * If the launcher session listener is not supported by the test runner, the actions are executed on JVM shutdown.
+ */
+@Slf4j
+@UtilityClass
+public class SessionHooks {
+
+    private final List<Runnable> hooks = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (!closed) {
+                runAll();
+            }
+        }, "recordo-session-hooks"));
+    }
+
+    public void onClose(Runnable hook) {
+        hooks.add(hook);
+    }
+
+    public void close() {
+        closed = true;
+        runAll();
+    }
+
+    private void runAll() {
+        hooks.forEach(hook -> {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                log.warn("Session hook failed", e);
+            }
+        });
+    }
+
+}
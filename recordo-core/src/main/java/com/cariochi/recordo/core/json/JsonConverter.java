@@ -2,6 +2,7 @@ package com.cariochi.recordo.core.json;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonStreamContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,6 +11,7 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.PropertyWriter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 @RequiredArgsConstructor
 public class JsonConverter {
 
@@ -41,11 +45,57 @@ public class JsonConverter {
 
     @SneakyThrows
     public String toJson(Object object, JsonPropertyFilter filter) {
+        if (object instanceof RawJson) {
+            final String json = new String(((RawJson) object).getBytes(), UTF_8);
+            return json.isBlank() ? "null" : json;
+        }
         return object == null || object instanceof String
                 ? (String) object
                 : objectMapper(filter).writer(printer).writeValueAsString(object);
     }
 
+    /**
+     * Serializes the object into compact UTF-8 JSON. A string is encoded as is.
+     */
+    @SneakyThrows
+    public byte[] toJsonBytes(Object object) {
+        if (object == null) {
+            return null;
+        }
+        return object instanceof String
+                ? ((String) object).getBytes(UTF_8)
+                : objectMapper.writeValueAsBytes(object);
+    }
+
+    /**
+     * Serializes the object into a token stream, without rendering it as a string.
+     * A string or {@link RawJson} is parsed as JSON, and an empty {@link RawJson}, e.g. an empty response body, is {@code null}.
+     */
+    @SneakyThrows
+    public TokenBuffer toTokens(Object object, JsonPropertyFilter filter) {
+        final ObjectMapper mapper = objectMapper(filter);
+        final TokenBuffer buffer = new TokenBuffer(mapper, false);
+        if (object instanceof String || object instanceof RawJson) {
+            try (JsonParser parser = object instanceof RawJson
+                    ? mapper.createParser(((RawJson) object).getBytes())
+                    : mapper.createParser((String) object)) {
+                if (parser.nextToken() == null && object instanceof RawJson) {
+                    buffer.writeNull();
+                } else {
+                    buffer.copyCurrentStructure(parser);
+                }
+            }
+        } else {
+            mapper.writeValue(buffer, object);
+        }
+        return buffer;
+    }
+
+    @SneakyThrows
+    public String toJson(TokenBuffer tokens) {
+        return objectMapper.writer(printer).writeValueAsString(tokens);
+    }
+
     @SneakyThrows
     @SuppressWarnings("unchecked")
     public <T> T fromJson(String json, Type type) {
@@ -59,6 +109,22 @@ public class JsonConverter {
         return objectMapper.readValue(json, valueType);
     }
 
+    /**
+     * Deserializes UTF-8 JSON without decoding it into a string first.
+     */
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(byte[] json, Type type) {
+        if (json == null) {
+            return null;
+        }
+        if (String.class.equals(type)) {
+            return (T) new String(json, UTF_8);
+        }
+        final JavaType valueType = objectMapper.constructType(type);
+        return objectMapper.readValue(json, valueType);
+    }
+
     public ObjectMapper objectMapper(JsonPropertyFilter propertyFilter) {
         return Optional.ofNullable(propertyFilter)
                 .filter(JsonPropertyFilter::hasProperties)
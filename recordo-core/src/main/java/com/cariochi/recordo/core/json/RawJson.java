@@ -0,0 +1,16 @@
+package com.cariochi.recordo.core.json;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Already serialized UTF-8 JSON, e.g. a response body, which is parsed instead of being serialized.
+ * Empty content, e.g. the body of a 204 response, is JSON {@code null}.
+ */
+@Getter
+@RequiredArgsConstructor(staticName = "of")
+public class RawJson {
+
+    private final byte[] bytes;
+
+}
@@ -0,0 +1,175 @@
+package com.cariochi.recordo.core.utils;
+
+import com.cariochi.recordo.core.RecordoError;
+import com.cariochi.recordo.core.SessionHooks;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Writes files in a background thread.
+ *
+ * <ul>
+ * <li>Producers are blocked when the bounded queue is full.</li>
+ * <li>Repeated writes of a pending file are coalesced, and only the latest content is written.</li>
+ * <li>Files are written to a temporary file and moved to the target, atomically if the file system supports it.</li>
+ * <li>Pending content is visible to {@link Files#exists(String)} and {@link Files#read(String)}.</li>
+ * <li>A failed write is logged and dropped, and the writer goes on with the next files.</li>
+ * <li>All pending files are flushed when the JUnit platform session is closed.</li>
+ * </ul>
+ */
+@Slf4j
+@UtilityClass
+public class AsyncFileWriter {
+
+    private final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final BlockingQueue<Path> queue = new ArrayBlockingQueue<>(Properties.asyncWriterQueueCapacity());
+    private final Map<Path, Pending> pending = new ConcurrentHashMap<>();
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+    private final Thread flusher = new Thread(AsyncFileWriter::run, "recordo-file-writer");
+
+    static {
+        flusher.setDaemon(true);
+        flusher.start();
+        SessionHooks.onClose(AsyncFileWriter::flush);
+    }
+
+    /**
+     * @return future completed when the file is written, or with the write failure
+     */
+    public CompletableFuture<Path> write(Path path, byte[] content) {
+        final Pending[] previous = new Pending[1];
+        final Pending current = pending.compute(path, (p, old) -> {
+            previous[0] = old;
+            return new Pending(content, old == null ? new CompletableFuture<>() : old.getWritten());
+        });
+        if (previous[0] == null) {
+            try {
+                queue.put(path);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeNow(path);
+            }
+        }
+        return current.getWritten();
+    }
+
+    public Optional<byte[]> pending(Path path) {
+        return Optional.ofNullable(pending.get(path)).map(Pending::getContent);
+    }
+
+    /**
+     * @return future completed when the pending content of the file is written, or completed future if nothing is pending
+     */
+    public CompletableFuture<Path> written(Path path) {
+        return Optional.ofNullable(pending.get(path))
+                .map(Pending::getWritten)
+                .orElseGet(() -> CompletableFuture.completedFuture(path));
+    }
+
+    /**
+     * Blocks until all pending files are written, for {@code async.writer.flush.timeout.seconds} at most.
+     *
+     * @throws RecordoError listing the files still pending after the timeout
+     */
+    public void flush() {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Properties.asyncWriterFlushTimeoutSeconds());
+        while (!pending.isEmpty()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new RecordoError("Files are not written in time: " + pending.keySet());
+            }
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            final Path path;
+            try {
+                path = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            writeNow(path);
+        }
+    }
+
+    private void writeNow(Path path) {
+        Pending entry = pending.get(path);
+        while (entry != null) {
+            final Throwable failure = tryWriteFile(path, entry.getContent());
+            if (pending.remove(path, entry)) {
+                if (failure == null) {
+                    entry.getWritten().complete(path);
+                } else {
+                    entry.getWritten().completeExceptionally(failure);
+                }
+                entry = null;
+            } else {
+                entry = pending.get(path);
+            }
+        }
+    }
+
+    private Throwable tryWriteFile(Path path, byte[] content) {
+        try {
+            try {
+                writeFile(path, content);
+            } catch (NoSuchFileException e) {
+                // the directory was deleted after it had been created
+                directories.remove(path.getParent());
+                writeFile(path, content);
+            }
+            return null;
+        } catch (Throwable e) {
+            log.warn("Cannot write file {}", path, e);
+            return e;
+        }
+    }
+
+    private void writeFile(Path path, byte[] content) throws IOException {
+        final Path directory = path.getParent();
+        if (!directories.contains(directory)) {
+            java.nio.file.Files.createDirectories(directory);
+            directories.add(directory);
+        }
+        final Path temp = directory.resolve("." + path.getFileName() + ".tmp");
+        try {
+            java.nio.file.Files.write(temp, content);
+            try {
+                java.nio.file.Files.move(temp, path, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                java.nio.file.Files.move(temp, path, REPLACE_EXISTING);
+            }
+        } finally {
+            java.nio.file.Files.deleteIfExists(temp);
+        }
+    }
+
+    @Value
+    private static class Pending {
+
+        byte[] content;
+        CompletableFuture<Path> written;
+
+    }
+
+}
@@ -4,27 +4,36 @@ import com.cariochi.recordo.core.RecordoError;
 import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 import static java.util.stream.Collectors.joining;
-import static lombok.AccessLevel.PROTECTED;
+import static lombok.AccessLevel.PRIVATE;
 
-@RequiredArgsConstructor(staticName = "of", access = PROTECTED)
+/**
+ * Collects exceptions of the given types, including errors, from several threads.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
 public final class ExceptionsCollector implements AutoCloseable {
 
-    private final Class<? extends Throwable> exceptionType;
+    private final List<Class<? extends Throwable>> exceptionTypes;
 
-    private final List<Throwable> exceptions = new ArrayList<>();
+    private final List<Throwable> exceptions = Collections.synchronizedList(new ArrayList<>());
+
+    @SafeVarargs
+    public static ExceptionsCollector of(Class<? extends Throwable>... exceptionTypes) {
+        return new ExceptionsCollector(Arrays.asList(exceptionTypes));
+    }
 
     public <T> Consumer<T> consuming(Consumer<T> consumer) {
         return t -> {
             try {
                 consumer.accept(t);
-            } catch (RuntimeException e) {
-                if (exceptionType.isAssignableFrom(e.getClass())) {
-                    exceptions.add(e);
-                } else {
+            } catch (RuntimeException | Error e) {
+                if (!collected(e)) {
                     throw e;
                 }
             }
@@ -35,10 +44,8 @@ public final class ExceptionsCollector implements AutoCloseable {
         return () -> {
             try {
                 runnable.run();
-            } catch (RuntimeException e) {
-                if (exceptionType.isAssignableFrom(e.getClass())) {
-                    exceptions.add(e);
-                } else {
+            } catch (RuntimeException | Error e) {
+                if (!collected(e)) {
                     throw e;
                 }
             }
@@ -49,10 +56,20 @@ public final class ExceptionsCollector implements AutoCloseable {
         return !exceptions.isEmpty();
     }
 
+    public int size() {
+        return exceptions.size();
+    }
+
+    /**
+     * @return messages of the collected exceptions, sorted to be independent of the order of collection
+     */
     public String getMessage() {
-        return exceptions.stream()
-                .map(Throwable::getMessage)
-                .collect(joining("\n\n"));
+        synchronized (exceptions) {
+            return exceptions.stream()
+                    .map(e -> Objects.toString(e.getMessage(), e.toString()))
+                    .sorted()
+                    .collect(joining("\n\n"));
+        }
     }
 
     @Override
@@ -62,4 +79,8 @@ public final class ExceptionsCollector implements AutoCloseable {
         }
     }
 
+    private boolean collected(Throwable e) {
+        return exceptionTypes.stream().anyMatch(type -> type.isInstance(e)) && exceptions.add(e);
+    }
+
 }
@@ -0,0 +1,60 @@
+package com.cariochi.recordo.core.utils;
+
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of values computed from files.
+ * A value is recomputed when the last modified time or the size of its file has changed.
+ * Files which are pending in {@link AsyncFileWriter} are never cached.
+ *
+ * @param <V> value type
+ */
+public class FileCache<V> {
+
+    private final Map<Path, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public V get(String file, Function<String, V> loader) {
+        return get(Files.path(file), () -> loader.apply(file));
+    }
+
+    public V get(Path path, Supplier<V> loader) {
+        if (AsyncFileWriter.pending(path).isPresent()) {
+            entries.remove(path);
+            return loader.get();
+        }
+        final BasicFileAttributes attributes;
+        try {
+            attributes = java.nio.file.Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            entries.remove(path);
+            return loader.get();
+        }
+        final long modified = attributes.lastModifiedTime().toMillis();
+        final long size = attributes.size();
+        final Entry<V> entry = entries.get(path);
+        if (entry != null && entry.getModified() == modified && entry.getSize() == size) {
+            return entry.getValue();
+        }
+        final V value = loader.get();
+        entries.put(path, new Entry<>(modified, size, value));
+        return value;
+    }
+
+    @Value
+    private static class Entry<V> {
+
+        long modified;
+        long size;
+        V value;
+
+    }
+
+}
@@ -5,9 +5,13 @@ import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.lang.System.getProperty;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -18,12 +22,24 @@ public class Files {
     public final Path USER_DIR = Paths.get(getProperty("user.dir"));
 
     public boolean exists(String file) {
-        return java.nio.file.Files.exists(path(file));
+        final Path path = path(file);
+        return AsyncFileWriter.pending(path).isPresent() || java.nio.file.Files.exists(path);
     }
 
     @SneakyThrows
     public String read(String file) {
-        return java.nio.file.Files.readString(path(file));
+        final Path path = path(file);
+        final Optional<byte[]> pending = AsyncFileWriter.pending(path);
+        return pending.isPresent() ? new String(pending.get(), UTF_8) : java.nio.file.Files.readString(path);
+    }
+
+    @SneakyThrows
+    public Reader reader(String file) {
+        final Path path = path(file);
+        final Optional<byte[]> pending = AsyncFileWriter.pending(path);
+        return pending.isPresent()
+                ? new StringReader(new String(pending.get(), UTF_8))
+                : java.nio.file.Files.newBufferedReader(path, UTF_8);
     }
 
     public Optional<Path> write(String content, String file) {
@@ -44,6 +60,49 @@ public class Files {
         return Optional.of(path);
     }
 
+    public Optional<Path> writeAsync(String content, String file) {
+        return writeAsync(content, file, true);
+    }
+
+    public Optional<Path> writeAsync(String content, String file, boolean addNewLine) {
+        if (!java.nio.file.Files.exists(USER_DIR)) {
+            return Optional.empty();
+        }
+        final Path path = path(file);
+        AsyncFileWriter.write(path, (content + (addNewLine ? '\n' : "")).getBytes(UTF_8));
+        return Optional.of(path);
+    }
+
+    public Optional<Path> writeAsync(byte[] content, String file) {
+        if (!java.nio.file.Files.exists(USER_DIR)) {
+            return Optional.empty();
+        }
+        final Path path = path(file);
+        AsyncFileWriter.write(path, content);
+        return Optional.of(path);
+    }
+
+    public Optional<Path> copy(Path source, String file) {
+        if (!java.nio.file.Files.exists(USER_DIR)) {
+            return Optional.empty();
+        }
+        final Path path = path(file);
+        try {
+            java.nio.file.Files.createDirectories(path.getParent());
+            java.nio.file.Files.copy(source, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RecordoError(e);
+        }
+        return Optional.of(path);
+    }
+
+    /**
+     * @return consumer that runs the action once the file is written by the {@link AsyncFileWriter}
+     */
+    public Consumer<Path> whenWritten(Consumer<Path> action) {
+        return path -> AsyncFileWriter.written(path).thenAccept(action);
+    }
+
     @SneakyThrows
     public Path path(String file) {
         return java.nio.file.Files.exists(USER_DIR)
@@ -51,6 +110,10 @@ public class Files {
                 : Paths.get(ClassLoader.getSystemResource(file).toURI());
     }
 
+    public Path reportPath(String file) {
+        return Paths.get(USER_DIR.toString(), Properties.reportsFolder(), file).toAbsolutePath();
+    }
+
     private Path resourceRootFolder() {
         return Paths.get(USER_DIR.toString(), Properties.resourcesRootFolder());
     }
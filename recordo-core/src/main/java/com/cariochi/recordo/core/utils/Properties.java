@@ -23,6 +23,26 @@ public class Properties {
         return property("resources.root.folder");
     }
 
+    public String reportsFolder() {
+        return property("reports.folder");
+    }
+
+    public int asyncWriterQueueCapacity() {
+        return Integer.parseInt(property("async.writer.queue.capacity"));
+    }
+
+    public int asyncWriterFlushTimeoutSeconds() {
+        return Integer.parseInt(property("async.writer.flush.timeout.seconds"));
+    }
+
+    public int jsonCompareParallelThreshold() {
+        return Integer.parseInt(property("json.compare.parallel.threshold"));
+    }
+
+    public boolean snapshotsUpdate() {
+        return Boolean.parseBoolean(property("snapshots.update"));
+    }
+
     public List<String> httpMocksIncludedHeaders() {
         return Stream.of(property("http.mocks.headers.included").split(","))
                 .map(StringUtils::trim)
@@ -40,7 +60,7 @@ public class Properties {
     }
 
     private String property(String name) {
-        return properties.getProperty(name, defaultProperties.getProperty(name));
+        return System.getProperty("recordo." + name, properties.getProperty(name, defaultProperties.getProperty(name)));
     }
 
     @SneakyThrows
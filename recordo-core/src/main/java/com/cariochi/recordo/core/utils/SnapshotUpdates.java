@@ -0,0 +1,79 @@
+package com.cariochi.recordo.core.utils;
+
+import com.cariochi.recordo.core.SessionHooks;
+import com.cariochi.recordo.core.json.JsonConverter;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Update mode, enabled by the {@code recordo.snapshots.update} system property
+ * or by the {@code snapshots.update} property in {@code recordo.properties}.
+ * <ul>
+ * <li>Mismatching and absent expected files are overwritten with actual values, and assertions pass.</li>
+ * <li>Files are written by the {@link AsyncFileWriter} background thread.</li>
+ * <li>Updated files are listed in the {@value #REPORT_FILE} report when the session is closed.</li>
+ * <li>The mode can be overridden in the current thread, so tests of the update mode don't change system properties.</li>
+ * </ul>
+ */
+@Slf4j
+@UtilityClass
+public class SnapshotUpdates {
+
+    public final String REPORT_FILE = "snapshot-updates.json";
+
+    private final Set<Path> updatedFiles = new ConcurrentSkipListSet<>();
+
+    private final ThreadLocal<Boolean> threadMode = new ThreadLocal<>();
+
+    static {
+        SessionHooks.onClose(SnapshotUpdates::writeReport);
+    }
+
+    public boolean enabled() {
+        final Boolean enabled = threadMode.get();
+        return enabled != null ? enabled : Properties.snapshotsUpdate();
+    }
+
+    /**
+     * Overrides the update mode in the current thread until {@link #resetInCurrentThread()} is called.
+     */
+    public void enableInCurrentThread(boolean enabled) {
+        threadMode.set(enabled);
+    }
+
+    public void resetInCurrentThread() {
+        threadMode.remove();
+    }
+
+    public void updated(Path file) {
+        updatedFiles.add(file);
+        AsyncFileWriter.written(file).thenAccept(path -> log.info("\nExpected value is updated in file://{}", path));
+    }
+
+    private void writeReport() {
+        if (updatedFiles.isEmpty()) {
+            return;
+        }
+        final List<String> files = updatedFiles.stream()
+                .map(file -> Files.USER_DIR.relativize(file).toString())
+                .collect(toList());
+        final Path path = Files.reportPath(REPORT_FILE);
+        try {
+            java.nio.file.Files.createDirectories(path.getParent());
+            java.nio.file.Files.write(path, new JsonConverter().toJson(files).getBytes(UTF_8));
+            log.info("{} expected files are updated, see file://{}", files.size(), path);
+        } catch (IOException e) {
+            log.warn("Cannot write snapshot updates report to {}", path, e);
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.cariochi.recordo.mockserver;
+
+import com.cariochi.recordo.mockserver.MockServer.Latency.Mode;
+import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.cariochi.recordo.mockserver.model.MockResponse.Timing;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@RequiredArgsConstructor(staticName = "of")
+public class LatencySimulator {
+
+    public static final LatencySimulator NONE = of(Mode.NONE, 1.0, 0, 0);
+
+    private final Mode mode;
+    private final double scale;
+    private final long min;
+    private final long max;
+
+    public static LatencySimulator of(MockServer.Latency latency) {
+        return of(latency.mode(), latency.scale(), latency.min(), latency.max());
+    }
+
+    /**
+     * Response timings are recorded only when they are replayed, so re-recorded files don't differ by timings.
+     */
+    public boolean recordsTiming() {
+        return mode == Mode.RECORDED;
+    }
+
+    public CompletableFuture<Optional<MockResponse>> delay(MockResponse response) {
+        final long delay = Math.round(delayOf(response) * scale);
+        if (delay <= 0) {
+            return CompletableFuture.completedFuture(Optional.of(response));
+        }
+        final CompletableFuture<Optional<MockResponse>> future = new CompletableFuture<>();
+        Scheduler.INSTANCE.schedule(() -> future.complete(Optional.of(response)), delay, MILLISECONDS);
+        return future;
+    }
+
+    private long delayOf(MockResponse response) {
+        switch (mode) {
+            case RECORDED:
+                return Optional.ofNullable(response.getTiming()).map(Timing::getTotalDuration).orElse(0L);
+            case FIXED:
+                return min;
+            case UNIFORM:
+                return max > min ? ThreadLocalRandom.current().nextLong(min, max + 1) : min;
+            default:
+                return 0;
+        }
+    }
+
+    private static class Scheduler {
+
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "recordo-latency");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.cariochi.recordo.mockserver;
+
+import com.cariochi.recordo.core.utils.Properties;
+import lombok.experimental.UtilityClass;
+
+import java.util.Map;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Headers stored in recorded files.
+ * <ul>
+ * <li>Only headers listed in the {@code http.mocks.headers.included} property are kept, with lower-case names.</li>
+ * <li>Values of headers listed in the {@code http.mocks.headers.sensitive} property are masked.</li>
+ * </ul>
+ */
+@UtilityClass
+public class MockHeaders {
+
+    public final String MASK = "********";
+
+    public Map<String, String> filtered(Map<String, String> headers) {
+        return headers.entrySet().stream()
+                .filter(header -> Properties.httpMocksIncludedHeaders().contains(header.getKey().toLowerCase()))
+                .collect(toMap(
+                        header -> header.getKey().toLowerCase(),
+                        header -> Properties.httpMocksSensitiveHeaders().contains(header.getKey().toLowerCase()) ? MASK : header.getValue()
+                ));
+    }
+
+}
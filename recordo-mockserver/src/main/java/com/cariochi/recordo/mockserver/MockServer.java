@@ -42,6 +42,17 @@ public @interface MockServer {
 
     JsonCompareMode jsonCompareMode() default @JsonCompareMode;
 
+    /**
+     * Delay applied to replayed responses.
+     *
+     * <pre class="code"><code class="java">
+     *
+     *  &#064;MockServer(value = "/mocks/get_gists.json", latency = &#064;Latency(mode = RECORDED, scale = 2))
+     *
+     * </code></pre>
+     */
+    Latency latency() default @Latency;
+
     @Retention(RetentionPolicy.RUNTIME)
     @interface JsonCompareMode {
 
@@ -51,4 +62,27 @@ public @interface MockServer {
 
     }
 
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Latency {
+
+        /**
+         * <ul>
+         * <li>NONE - responses are replayed immediately</li>
+         * <li>RECORDED - recorded total duration of each response, durations are recorded only in this mode</li>
+         * <li>FIXED - {@link #min()} milliseconds for each response</li>
+         * <li>UNIFORM - random delay between {@link #min()} and {@link #max()} milliseconds</li>
+         * </ul>
+         */
+        Mode mode() default Mode.NONE;
+
+        double scale() default 1.0;
+
+        long min() default 0;
+
+        long max() default 0;
+
+        enum Mode {NONE, RECORDED, FIXED, UNIFORM}
+
+    }
+
 }
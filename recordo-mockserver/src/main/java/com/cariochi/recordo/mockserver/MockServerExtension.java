@@ -5,6 +5,7 @@ import com.cariochi.recordo.core.json.JsonConverter;
 import com.cariochi.recordo.mockserver.interceptors.HttpClientInterceptors;
 import com.cariochi.recordo.mockserver.interceptors.MockServerInterceptor;
 import com.cariochi.recordo.mockserver.interceptors.RecordoRequestHandler;
+import com.cariochi.recordo.mockserver.metrics.MockServerMetrics;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +16,8 @@ import org.skyscreamer.jsonassert.JSONCompareMode;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static com.cariochi.recordo.core.json.JsonConverters.getJsonConverter;
@@ -37,7 +40,7 @@ public class MockServerExtension implements Extension, BeforeEachCallback, After
                     final List<RecordoMockServer> servers = Stream.of(annotation.value())
                             .map(a -> {
                                 final JSONCompareMode compareMode = compareMode(a.jsonCompareMode().extensible(), a.jsonCompareMode().strictOrder());
-                                return new RecordoMockServer(a.urlPattern(), a.value(), jsonConverter, compareMode);
+                                return new RecordoMockServer(a.urlPattern(), a.value(), jsonConverter, compareMode, LatencySimulator.of(a.latency()));
                             })
                             .collect(toList());
                     interceptor.init(new RoutingRequestHandler());
@@ -49,7 +52,9 @@ public class MockServerExtension implements Extension, BeforeEachCallback, After
                     final JsonConverter jsonConverter = getJsonConverter(testInstance);
                     final MockServerInterceptor interceptor = HttpClientInterceptors.of(testInstance);
                     final JSONCompareMode compareMode = compareMode(annotation.jsonCompareMode().extensible(), annotation.jsonCompareMode().strictOrder());
-                    final RecordoMockServer mockServer = new RecordoMockServer(annotation.urlPattern(), annotation.value(), jsonConverter, compareMode);
+                    final RecordoMockServer mockServer = new RecordoMockServer(
+                            annotation.urlPattern(), annotation.value(), jsonConverter, compareMode, LatencySimulator.of(annotation.latency())
+                    );
                     interceptor.init(new RoutingRequestHandler());
                     mockServers.set(List.of(mockServer));
                 });
@@ -76,16 +81,25 @@ public class MockServerExtension implements Extension, BeforeEachCallback, After
             return findServer(request).onRequest(request);
         }
 
+        @Override
+        public CompletableFuture<Optional<MockResponse>> onRequestAsync(MockRequest request) {
+            return findServer(request).onRequestAsync(request);
+        }
+
         @Override
         public MockResponse onResponse(MockRequest request, MockResponse response) {
             return findServer(request).onResponse(request, response);
         }
 
         private RecordoRequestHandler findServer(MockRequest request) {
-            return mockServers.get().stream()
-                    .filter(server -> server.match(request))
+            final AtomicInteger attempts = new AtomicInteger();
+            final RecordoMockServer server = mockServers.get().stream()
+                    .peek(s -> attempts.incrementAndGet())
+                    .filter(s -> s.match(request))
                     .findFirst()
                     .orElseThrow();
+            MockServerMetrics.counter(MockServerMetrics.MATCH_ATTEMPTS, attempts.get());
+            return server;
         }
 
     }
@@ -3,24 +3,30 @@ package com.cariochi.recordo.mockserver;
 
 import com.cariochi.recordo.core.json.JsonConverter;
 import com.cariochi.recordo.core.utils.Files;
-import com.cariochi.recordo.core.utils.Properties;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
 import com.cariochi.recordo.mockserver.interceptors.MockServerInterceptor;
 import com.cariochi.recordo.mockserver.interceptors.RecordoRequestHandler;
+import com.cariochi.recordo.mockserver.metrics.MockServerMetrics;
 import com.cariochi.recordo.mockserver.model.MockInteraction;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.skyscreamer.jsonassert.JSONCompareResult;
 
 import java.lang.reflect.Type;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static com.cariochi.recordo.core.json.JsonUtils.compareMode;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.*;
 import static org.apache.commons.text.StringSubstitutor.replace;
@@ -35,10 +41,14 @@ public class RecordoMockServer implements AutoCloseable, RecordoRequestHandler {
     private final String fileName;
     private final JSONCompareMode compareMode;
     private final JsonConverter jsonConverter;
+    private final LatencySimulator latencySimulator;
     private final List<MockInteraction> actualMocks = new ArrayList<>();
     private List<MockInteraction> expectedMocks;
     private final Map<String, Object> variables = new HashMap<>();
+    private final Map<String, MockResponse> playbackResponses = new HashMap<>();
     private int index = 0;
+    private boolean updating;
+    private Comparison comparison;
 
     public RecordoMockServer(MockServerInterceptor interceptor, String fileName) {
         this("**", fileName, new JsonConverter(), compareMode(false, true));
@@ -46,75 +56,154 @@ public class RecordoMockServer implements AutoCloseable, RecordoRequestHandler {
     }
 
     public RecordoMockServer(String urlPattern, String fileName, JsonConverter jsonConverter, JSONCompareMode compareMode) {
+        this(urlPattern, fileName, jsonConverter, compareMode, LatencySimulator.NONE);
+    }
+
+    public RecordoMockServer(String urlPattern,
+                             String fileName,
+                             JsonConverter jsonConverter,
+                             JSONCompareMode compareMode,
+                             LatencySimulator latencySimulator) {
+        this.latencySimulator = latencySimulator;
         this.urlPatternMatcher = new UrlPatternMatcher(urlPattern);
         this.fileName = fileName;
         this.jsonConverter = jsonConverter;
         this.compareMode = compareMode;
     }
 
-    @SneakyThrows
     public boolean match(MockRequest request) {
         if (!urlPatternMatcher.match(request.getUrl())) {
             return false;
         }
-        if (expectedMocks().isEmpty()) {
+        if (expectedMocks().isEmpty() || SnapshotUpdates.enabled()) {
             return true;
         }
         if (expectedMocks().size() <= index) {
             return false;
         }
-        try {
-            response(request);
-            return true;
-        } catch (Exception e) {
-            return false;
+        final Comparison comparison = comparisonOf(request);
+        if (comparison.getFailure() instanceof AssertionError) {
+            throw (AssertionError) comparison.getFailure();
         }
+        return comparison.getFailure() == null;
     }
 
-    @SneakyThrows
     @Override
     public Optional<MockResponse> onRequest(MockRequest request) {
+        return onRequestAsync(request).join();
+    }
+
+    @Override
+    public CompletableFuture<Optional<MockResponse>> onRequestAsync(MockRequest request) {
         if (expectedMocks().isEmpty()) {
-            return Optional.empty();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        if (SnapshotUpdates.enabled() && !matchesNext(request)) {
+            log.info("Http mocks don't match, re-recording from [{}] {}", request.getMethod(), request.getUrl());
+            startUpdate();
+            return CompletableFuture.completedFuture(Optional.empty());
         }
         log.info("Playback Http Mock: [{}] {}", request.getMethod(), request.getUrl());
-        final MockResponse response = response(request);
+        final String acceptEncoding = ContentEncodings.acceptEncodingOf(request.getHeaders()).orElse(null);
+        final MockResponse response = playbackResponse(comparisonOf(request).response(), acceptEncoding);
         index++;
-        return Optional.of(prepareForPlayback(response));
+        return latencySimulator.delay(response);
     }
 
-    @SneakyThrows
-    private MockResponse response(MockRequest request) {
+    /**
+     * The request is compared with the expected one once, though it is matched before being played back.
+     */
+    private Comparison comparisonOf(MockRequest request) {
+        if (comparison == null || comparison.getRequest() != request || comparison.getIndex() != index) {
+            comparison = compare(request);
+        }
+        return comparison;
+    }
+
+    private Comparison compare(MockRequest request) {
         final MockInteraction mock = expectedMocks().get(index);
-        request.setHeaders(filteredHeaders(request.getHeaders()));
-        final String expected = jsonConverter.toJson(mock.getRequest());
-        final String actual = jsonConverter.toJson(prepareForRecord(request));
-        final JSONCompareResult compareResult = compareJSON(expected, actual, compareMode);
-        if (compareResult.failed()) {
-            throw new AssertionError(compareResult.getMessage() + "\n" + "Expected Request:\n" + expected + "\n" + "Actual Request:\n" + actual);
+        try {
+            final String expected = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> jsonConverter.toJson(mock.getRequest()), "file", fileName);
+            final String actual = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> jsonConverter.toJson(prepareForRecord(request)), "file", fileName);
+            final JSONCompareResult compareResult = MockServerMetrics.time(
+                    MockServerMetrics.COMPARE, () -> compareJSON(expected, actual, compareMode), "file", fileName
+            );
+            if (compareResult.failed()) {
+                final AssertionError error = new AssertionError(
+                        compareResult.getMessage() + "\n" + "Expected Request:\n" + expected + "\n" + "Actual Request:\n" + actual
+                );
+                return new Comparison(request, index, null, error);
+            }
+            return new Comparison(request, index, mock.getResponse(), null);
+        } catch (RuntimeException e) {
+            return new Comparison(request, index, null, e);
+        }
+    }
+
+    private boolean matchesNext(MockRequest request) {
+        if (expectedMocks().size() <= index) {
+            return false;
+        }
+        final Comparison comparison = comparisonOf(request);
+        if (comparison.getFailure() instanceof RuntimeException) {
+            throw (RuntimeException) comparison.getFailure();
+        }
+        return comparison.getFailure() == null;
+    }
+
+    /**
+     * Update mode: interactions played back so far are kept as they are in the file, without substituted variables,
+     * and the following ones are recorded.
+     */
+    private void startUpdate() {
+        if (index > 0) {
+            final List<MockInteraction> fileMocks = jsonConverter.fromJson(Files.read(fileName), TYPE);
+            actualMocks.addAll(fileMocks.subList(0, index));
         }
-        return mock.getResponse();
+        expectedMocks = emptyList();
+        playbackResponses.clear();
+        updating = true;
     }
 
+    /**
+     * Records the interaction, and returns the response as it is received.
+     */
     @Override
     public MockResponse onResponse(MockRequest request, MockResponse response) {
         actualMocks.add(new MockInteraction(request, response));
+        MockServerMetrics.counter(MockServerMetrics.BYTES_RECORDED, sizeOf(response), "file", fileName);
         return response;
     }
 
+    /**
+     * Sets a variable substituted in the file. Expected mocks are reloaded, unless they are being updated.
+     */
     public void set(String name, Object value) {
         variables.put(name, value);
-        expectedMocks = null;
+        if (!updating) {
+            expectedMocks = null;
+            comparison = null;
+            playbackResponses.clear();
+        }
     }
 
     @Override
     public void close() {
-        if (!actualMocks.isEmpty()) {
+        if (SnapshotUpdates.enabled() && !updating && expectedMocks().size() > index) {
+            startUpdate();
+        }
+        if (!actualMocks.isEmpty() || updating) {
             final List<MockInteraction> mocksToRecord = actualMocks.stream().map(this::prepareForRecord).collect(toList());
 
             final String json = jsonConverter.toJson(mocksToRecord);
 
-            Files.write(json, fileName).ifPresent(file -> log.info("Http mocks are recorded to file://{}:\n{}", file, urlsOf(actualMocks)));
+            final Optional<Path> file = Files.writeAsync(json, fileName);
+            if (updating) {
+                file.ifPresent(SnapshotUpdates::updated);
+            } else {
+                final String urls = urlsOf(actualMocks);
+                file.ifPresent(Files.whenWritten(path -> log.info("Http mocks are recorded to file://{}:\n{}", path, urls)));
+            }
         } else if (expectedMocks().size() > index) {
             throw new AssertionError("Not all mocks requests were called");
         }
@@ -129,8 +218,9 @@ public class RecordoMockServer implements AutoCloseable, RecordoRequestHandler {
 
     private List<MockInteraction> loadExpectedMocks(String fileName) {
         if (Files.exists(fileName)) {
-            final String json = applyVariables(Files.read(fileName));
-            final List<MockInteraction> mocks = jsonConverter.fromJson(json, TYPE);
+            final List<MockInteraction> mocks = MockServerMetrics.time(
+                    MockServerMetrics.FILE_LOAD, () -> jsonConverter.fromJson(applyVariables(Files.read(fileName)), TYPE), "file", fileName
+            );
             log.info("Read Http Mocks from file://{}\nRequests:\n{}", Files.path(fileName), urlsOf(mocks));
             return mocks;
         } else {
@@ -149,24 +239,98 @@ public class RecordoMockServer implements AutoCloseable, RecordoRequestHandler {
 
     private MockRequest prepareForRecord(MockRequest request) {
         final MockRequest prepared = Optional.ofNullable(request).filter(MockRequest::isJson).map(MockRequest::getBody).filter(body -> body instanceof String).map(String.class::cast).map(json -> jsonConverter.fromJson(json, Object.class)).map(request::withBody).orElse(request);
-        return prepared.withHeaders(filteredHeaders(request.getHeaders()));
+        return prepared.withHeaders(MockHeaders.filtered(request.getHeaders()));
     }
 
     private MockResponse prepareForRecord(MockResponse request) {
         final MockResponse prepared = Optional.ofNullable(request).filter(MockResponse::isJson).map(MockResponse::getBody).filter(body -> body instanceof String).map(String.class::cast).map(json -> jsonConverter.fromJson(json, Object.class)).map(request::withBody).orElse(request);
-        return prepared.withHeaders(filteredHeaders(request.getHeaders()));
+        return prepared
+                .withHeaders(MockHeaders.filtered(request.getHeaders()))
+                .withTiming(latencySimulator.recordsTiming() ? request.getTiming() : null);
     }
 
     private MockResponse prepareForPlayback(MockResponse response) {
         return Optional.ofNullable(response).filter(MockResponse::isJson).map(MockResponse::getBody).filter(body -> !(body instanceof String)).map(jsonConverter::toJson).map(response::withBody).orElse(response);
     }
 
-    private Map<String, String> filteredHeaders(Map<String, String> headers) {
-        return headers.entrySet().stream().filter(header -> Properties.httpMocksIncludedHeaders().contains(header.getKey().toLowerCase())).collect(toMap(stringStringEntry -> stringStringEntry.getKey().toLowerCase(), entry -> Properties.httpMocksSensitiveHeaders().contains(entry.getKey().toLowerCase()) ? "********" : entry.getValue()));
+    /**
+     * Prepared and encoded responses are memoized per interaction and content coding, so bodies are compressed once.
+     */
+    private MockResponse playbackResponse(MockResponse response, String acceptEncoding) {
+        final MockResponse prepared = playbackResponses.computeIfAbsent(
+                index + ":identity",
+                key -> withContentEncoding(prepareForPlayback(response), null)
+        );
+        MockServerMetrics.counter(MockServerMetrics.BYTES_REPLAYED, sizeOf(prepared), "file", fileName);
+        final String encoding = negotiatedEncoding(response, acceptEncoding);
+        return encoding == null
+                ? prepared
+                : playbackResponses.computeIfAbsent(index + ":" + encoding, key -> withContentEncoding(prepared, encoding));
+    }
+
+    private String negotiatedEncoding(MockResponse response, String acceptEncoding) {
+        return ContentEncodings.encodingOf(response.getHeaders())
+                .flatMap(encoding -> ContentEncodings.negotiate(encoding, acceptEncoding))
+                .orElse(null);
+    }
+
+    private MockResponse withContentEncoding(MockResponse response, String encoding) {
+        final MockResponse prepared = response.withHeaders(ContentEncodings.withEncoding(response.getHeaders(), encoding));
+        if (encoding == null || !(response.getBody() instanceof String)) {
+            return prepared;
+        }
+        return prepared.withBody(ContentEncodings.encode(((String) response.getBody()).getBytes(UTF_8), encoding));
+    }
+
+    /**
+     * Bodies received or played back are strings or byte arrays, and they are measured without being encoded.
+     */
+    private long sizeOf(MockResponse response) {
+        final Object body = Optional.ofNullable(response).map(MockResponse::getBody).orElse(null);
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        return body instanceof CharSequence ? utf8Length((CharSequence) body) : 0;
+    }
+
+    private static long utf8Length(CharSequence chars) {
+        long length = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars.length() && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
     }
 
     private String urlsOf(List<MockInteraction> mocks) {
         return mocks.stream().map(MockInteraction::getRequest).map(req -> format("-[%s] %s", req.getMethod(), req.getUrl())).collect(joining("\n"));
     }
 
+    @Value
+    private static class Comparison {
+
+        MockRequest request;
+        int index;
+        MockResponse response;
+        Throwable failure;
+
+        @SneakyThrows
+        MockResponse response() {
+            if (failure != null) {
+                throw failure;
+            }
+            return response;
+        }
+
+    }
+
 }
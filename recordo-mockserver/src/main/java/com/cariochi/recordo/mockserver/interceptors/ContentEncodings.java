@@ -0,0 +1,174 @@
+package com.cariochi.recordo.mockserver.interceptors;
+
+import com.cariochi.recordo.core.RecordoError;
+import com.cariochi.recordo.mockserver.model.MockResponse;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.substringAfter;
+import static org.apache.commons.lang3.StringUtils.substringBefore;
+import static org.apache.commons.lang3.StringUtils.trim;
+
+/**
+ * Content codings of recorded responses.
+ * <ul>
+ * <li>gzip and deflate are decoded and encoded.</li>
+ * <li>br is decoded if org.brotli:dec is in the classpath, and is never encoded. Replay falls back to gzip or identity.</li>
+ * <li>Bodies with other codings, or br without org.brotli:dec, are not recorded: they can't be stored as text.</li>
+ * </ul>
+ */
+@UtilityClass
+public class ContentEncodings {
+
+    public final String CONTENT_ENCODING = "Content-Encoding";
+    public final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private final String GZIP = "gzip";
+    private final String DEFLATE = "deflate";
+    private final String BROTLI = "br";
+    private final String BROTLI_INPUT_STREAM = "org.brotli.dec.BrotliInputStream";
+    private final Set<String> ENCODABLE = Set.of(GZIP, DEFLATE);
+    private final Set<String> PAYLOAD_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    public Optional<String> encodingOf(Map<String, String> headers) {
+        return header(headers, CONTENT_ENCODING)
+                .map(StringUtils::trim)
+                .map(StringUtils::lowerCase)
+                .map(e -> "x-gzip".equals(e) ? GZIP : e)
+                .filter(e -> !e.isEmpty() && !"identity".equals(e));
+    }
+
+    public Optional<String> acceptEncodingOf(Map<String, String> headers) {
+        return header(headers, ACCEPT_ENCODING);
+    }
+
+    public byte[] decode(byte[] bytes, String encoding) {
+        if (bytes == null || bytes.length == 0 || encoding == null) {
+            return bytes;
+        }
+        try (InputStream inputStream = decoder(new ByteArrayInputStream(bytes), encoding)) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new RecordoError(e);
+        }
+    }
+
+    public byte[] encode(byte[] bytes, String encoding) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, bytes.length / 4));
+        try (OutputStream outputStream = GZIP.equals(encoding) ? new GZIPOutputStream(out) : new DeflaterOutputStream(out)) {
+            outputStream.write(bytes);
+        } catch (IOException e) {
+            throw new RecordoError(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return encoding to serve a response with the recorded encoding, or empty for identity
+     */
+    public Optional<String> negotiate(String recordedEncoding, String acceptEncoding) {
+        if (recordedEncoding == null || acceptEncoding == null) {
+            return Optional.empty();
+        }
+        return Stream.of(recordedEncoding, GZIP, DEFLATE)
+                .filter(ENCODABLE::contains)
+                .filter(encoding -> accepts(acceptEncoding, encoding))
+                .findFirst();
+    }
+
+    /**
+     * @return response with a decoded body, without payload headers
+     */
+    public MockResponse decoded(MockResponse response) {
+        return response.withHeaders(withEncoding(response.getHeaders(), null));
+    }
+
+    /**
+     * @return headers without payload headers, with the given content encoding
+     */
+    public Map<String, String> withEncoding(Map<String, String> headers, String encoding) {
+        final Map<String, String> result = new LinkedHashMap<>();
+        headers.forEach((name, value) -> {
+            if (!PAYLOAD_HEADERS.contains(name.toLowerCase())) {
+                result.put(name, value);
+            }
+        });
+        if (encoding != null) {
+            result.put(CONTENT_ENCODING, encoding);
+        }
+        return result;
+    }
+
+    private boolean accepts(String acceptEncoding, String encoding) {
+        return Stream.of(acceptEncoding.split(","))
+                .filter(coding -> {
+                    final String name = trim(substringBefore(coding, ";")).toLowerCase();
+                    return name.equals(encoding) || name.equals("*");
+                })
+                .anyMatch(coding -> !trim(substringAfter(coding, ";")).matches("q\\s*=\\s*0(\\.0*)?"));
+    }
+
+    private InputStream decoder(InputStream inputStream, String encoding) throws IOException {
+        switch (encoding) {
+            case GZIP:
+                return new GZIPInputStream(inputStream);
+            case DEFLATE:
+                return inflater(inputStream);
+            case BROTLI:
+                return brotli(inputStream);
+            default:
+                throw new RecordoError("Unsupported content encoding: " + encoding);
+        }
+    }
+
+    private InputStream inflater(InputStream inputStream) {
+        // "deflate" is zlib-wrapped by the spec, but some servers send raw deflate data
+        inputStream.mark(2);
+        try {
+            final int cmf = inputStream.read();
+            final int flg = inputStream.read();
+            inputStream.reset();
+            final boolean zlib = (cmf & 0x0f) == 8 && ((cmf << 8) + flg) % 31 == 0;
+            return new InflaterInputStream(inputStream, new Inflater(!zlib));
+        } catch (IOException e) {
+            throw new RecordoError(e);
+        }
+    }
+
+    private InputStream brotli(InputStream inputStream) {
+        try {
+            return (InputStream) Class.forName(BROTLI_INPUT_STREAM)
+                    .getConstructor(InputStream.class)
+                    .newInstance(inputStream);
+        } catch (ClassNotFoundException e) {
+            throw new RecordoError(format("Brotli encoded body can't be decoded: %s is not found", BROTLI_INPUT_STREAM), e);
+        } catch (ReflectiveOperationException e) {
+            throw new RecordoError(e);
+        }
+    }
+
+    private Optional<String> header(Map<String, String> headers, String name) {
+        return headers.entrySet().stream()
+                .filter(e -> name.equalsIgnoreCase(e.getKey()))
+                .map(Map.Entry::getValue)
+                .findAny();
+    }
+
+}
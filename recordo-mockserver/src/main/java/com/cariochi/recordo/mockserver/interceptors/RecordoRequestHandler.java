@@ -4,10 +4,15 @@ import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface RecordoRequestHandler {
 
     Optional<MockResponse> onRequest(MockRequest request);
 
+    default CompletableFuture<Optional<MockResponse>> onRequestAsync(MockRequest request) {
+        return CompletableFuture.completedFuture(onRequest(request));
+    }
+
     MockResponse onResponse(MockRequest request, MockResponse response);
 }
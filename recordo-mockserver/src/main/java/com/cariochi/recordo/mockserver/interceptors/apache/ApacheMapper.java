@@ -1,6 +1,7 @@
 package com.cariochi.recordo.mockserver.interceptors.apache;
 
 import com.cariochi.recordo.core.utils.Exceptions;
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
 import org.apache.commons.lang3.StringUtils;
@@ -8,15 +9,19 @@ import org.apache.http.*;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestWrapper;
 import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 
 import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import static com.cariochi.recordo.core.utils.Exceptions.tryGet;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.*;
 import static org.apache.commons.lang3.StringUtils.substringAfter;
@@ -24,26 +29,32 @@ import static org.apache.commons.lang3.StringUtils.substringBefore;
 
 public class ApacheMapper {
 
+    public static final String CONTENT_ENCODING_ATTRIBUTE = "recordo.content-encoding";
+
     public MockRequest toRecordoRequest(HttpRequestWrapper wrapper) {
         final HttpRequest request = wrapper.getOriginal();
         final String body = request instanceof HttpEntityEnclosingRequest
                 ? bodyOf(((HttpEntityEnclosingRequest) request).getEntity())
                 : null;
+        final Map<String, String> headers = headersOf(request.getAllHeaders());
+        Optional.ofNullable(wrapper.getFirstHeader(ContentEncodings.ACCEPT_ENCODING))
+                .ifPresent(header -> headers.putIfAbsent(header.getName(), header.getValue()));
         return MockRequest.builder()
                 .method(request.getRequestLine().getMethod())
                 .url(request.getRequestLine().getUri())
-                .headers(headersOf(request.getAllHeaders()))
+                .headers(headers)
                 .body(body)
                 .build();
     }
 
     public MockResponse toRecordoResponse(HttpResponse response) {
+        final Map<String, String> headers = headersOf(response.getAllHeaders());
         return MockResponse.builder()
                 .protocol(response.getProtocolVersion().toString())
                 .statusCode(response.getStatusLine().getStatusCode())
                 .statusText(response.getStatusLine().getReasonPhrase())
-                .headers(headersOf(response.getAllHeaders()))
-                .body(bodyOf(response.getEntity()))
+                .headers(headers)
+                .body(bodyOf(response.getEntity(), ContentEncodings.encodingOf(headers).orElse(null)))
                 .build();
     }
 
@@ -59,12 +70,26 @@ public class ApacheMapper {
                 .map(e -> new BasicHeader(e.getKey(), e.getValue()))
                 .toArray(BasicHeader[]::new)
         );
-        BasicHttpEntity entity = new BasicHttpEntity();
-        entity.setContent(new ByteArrayInputStream(bytes(response.getBody())));
+        final byte[] body = bytes(response.getBody());
+        final BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ByteArrayInputStream(body));
+        entity.setContentLength(body.length);
+        // the client decompresses the body according to the entity content encoding
+        entity.setContentEncoding(newResponse.getFirstHeader(ContentEncodings.CONTENT_ENCODING));
+        entity.setContentType(newResponse.getFirstHeader(HTTP.CONTENT_TYPE));
         newResponse.setEntity(entity);
         return newResponse;
     }
 
+    private String bodyOf(HttpEntity entity, String encoding) {
+        if (entity == null || encoding == null) {
+            return bodyOf(entity);
+        }
+        final byte[] bytes = ContentEncodings.decode(tryGet(() -> EntityUtils.toByteArray(entity)).get(), encoding);
+        final Charset charset = Optional.ofNullable(ContentType.get(entity)).map(ContentType::getCharset).orElse(UTF_8);
+        return bytes.length == 0 ? null : new String(bytes, charset);
+    }
+
     private String bodyOf(HttpEntity entity) {
         return Optional.ofNullable(entity)
                 .map(Exceptions.tryApply(EntityUtils::toString))
@@ -81,6 +106,9 @@ public class ApacheMapper {
     }
 
     private byte[] bytes(Object body) {
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
         return Optional.ofNullable(body)
                 .map(String.class::cast)
                 .map(s -> s.getBytes(UTF_8))
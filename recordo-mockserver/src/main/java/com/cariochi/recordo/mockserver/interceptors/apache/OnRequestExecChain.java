@@ -1,5 +1,7 @@
 package com.cariochi.recordo.mockserver.interceptors.apache;
 
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
+import com.cariochi.recordo.mockserver.metrics.MockServerMetrics;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
 import lombok.RequiredArgsConstructor;
@@ -32,9 +34,14 @@ public class OnRequestExecChain implements ClientExecChain {
                                          HttpRequestWrapper request,
                                          HttpClientContext context,
                                          HttpExecutionAware executionAware) throws IOException, HttpException {
-        final Optional<MockResponse> recordoResponse = onRequest.apply(mapper.toRecordoRequest(request));
-        return recordoResponse.isPresent()
-                ? mapper.toHttpResponse(recordoResponse.get())
-                : requestExecutor.execute(route, request, context, executionAware);
+        final MockRequest recordoRequest = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toRecordoRequest(request), "client", "apache");
+        final Optional<MockResponse> recordoResponse = onRequest.apply(recordoRequest);
+        if (recordoResponse.isPresent()) {
+            return MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toHttpResponse(recordoResponse.get()), "client", "apache");
+        }
+        final CloseableHttpResponse response = requestExecutor.execute(route, request, context, executionAware);
+        Optional.ofNullable(response.getFirstHeader(ContentEncodings.CONTENT_ENCODING))
+                .ifPresent(header -> context.setAttribute(ApacheMapper.CONTENT_ENCODING_ATTRIBUTE, header.getValue()));
+        return response;
     }
 }
@@ -1,7 +1,10 @@
 package com.cariochi.recordo.mockserver.interceptors.apache;
 
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
+import com.cariochi.recordo.mockserver.metrics.MockServerMetrics;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.cariochi.recordo.mockserver.model.MockResponse.Timing;
 import lombok.RequiredArgsConstructor;
 import org.apache.http.HttpException;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -12,6 +15,7 @@ import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.execchain.ClientExecChain;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.function.BiFunction;
 
 @RequiredArgsConstructor
@@ -36,11 +40,20 @@ public class OnResponseExecChain implements ClientExecChain {
                                          HttpRequestWrapper request,
                                          HttpClientContext context,
                                          HttpExecutionAware executionAware) throws IOException, HttpException {
+        final long start = System.nanoTime();
         final CloseableHttpResponse response = requestExecutor.execute(route, request, context, executionAware);
         if (active) {
-            final MockRequest recordoRequest = mapper.toRecordoRequest(request);
-            final MockResponse recordoResponse = mapper.toRecordoResponse(response);
-            return mapper.toHttpResponse(onResponse.apply(recordoRequest, recordoResponse));
+            final long firstByte = System.nanoTime();
+            final MockRequest recordoRequest = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toRecordoRequest(request), "client", "apache");
+            final MockResponse recordoResponse = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toRecordoResponse(response), "client", "apache")
+                    .withTiming(Timing.of(start, firstByte, System.nanoTime()));
+            // the body is already decompressed here, the original content coding is kept for playback only
+            final MockResponse recordedResponse = Optional.ofNullable(context.getAttribute(ApacheMapper.CONTENT_ENCODING_ATTRIBUTE, String.class))
+                    .filter(encoding -> ContentEncodings.encodingOf(recordoResponse.getHeaders()).isEmpty())
+                    .map(encoding -> recordoResponse.withHeaders(ContentEncodings.withEncoding(recordoResponse.getHeaders(), encoding)))
+                    .orElse(recordoResponse);
+            final MockResponse handledResponse = ContentEncodings.decoded(onResponse.apply(recordoRequest, recordedResponse));
+            return MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toHttpResponse(handledResponse), "client", "apache");
         } else {
             return response;
         }
@@ -1,12 +1,11 @@
 package com.cariochi.recordo.mockserver.interceptors.okhttp;
 
 import com.cariochi.recordo.core.RecordoError;
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
 import okhttp3.*;
 import okio.Buffer;
-import okio.BufferedSource;
-import okio.GzipSource;
 
 import java.io.IOException;
 import java.util.Map;
@@ -15,7 +14,6 @@ import java.util.Optional;
 import static java.lang.String.join;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toMap;
-import static okio.Okio.buffer;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 public class OkHttpMapper {
@@ -77,11 +75,8 @@ public class OkHttpMapper {
             String responseContent = null;
             final ResponseBody body = response.body();
             if (body != null) {
-                BufferedSource source = buffer(body.source());
-                if ("gzip".equals(response.header("Content-Encoding"))) {
-                    source = buffer(new GzipSource(source));
-                }
-                responseContent = source.readUtf8();
+                final String encoding = ContentEncodings.encodingOf(headersOf(response.headers())).orElse(null);
+                responseContent = new String(ContentEncodings.decode(body.bytes(), encoding), UTF_8);
             }
             return isEmpty(responseContent) ? null : responseContent;
         } catch (IOException e) {
@@ -99,6 +94,9 @@ public class OkHttpMapper {
     }
 
     private byte[] bytes(Object body) {
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
         return Optional.ofNullable(body)
                 .map(String.class::cast)
                 .map(s -> s.getBytes(UTF_8))
@@ -1,9 +1,12 @@
 package com.cariochi.recordo.mockserver.interceptors.okhttp;
 
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
 import com.cariochi.recordo.mockserver.interceptors.MockServerInterceptor;
 import com.cariochi.recordo.mockserver.interceptors.RecordoRequestHandler;
+import com.cariochi.recordo.mockserver.metrics.MockServerMetrics;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.cariochi.recordo.mockserver.model.MockResponse.Timing;
 import lombok.SneakyThrows;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -40,15 +43,18 @@ public class OkMockServerInterceptor implements Interceptor, MockServerIntercept
     @Override
     public okhttp3.Response intercept(Chain chain) throws IOException {
         final okhttp3.Request request = chain.request();
-        final MockRequest recordoRequest = mapper.toRecordoRequest(request);
+        final MockRequest recordoRequest = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toRecordoRequest(request), "client", "okhttp");
         final MockResponse response = handler.onRequest(recordoRequest)
-                .orElseGet(() -> handler.onResponse(recordoRequest, proceed(request, chain)));
-        return mapper.toOkHttpResponse(request, response);
+                .orElseGet(() -> ContentEncodings.decoded(handler.onResponse(recordoRequest, proceed(request, chain))));
+        return MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toOkHttpResponse(request, response), "client", "okhttp");
     }
 
     @SneakyThrows
     private MockResponse proceed(Request request, Chain chain) {
+        final long start = System.nanoTime();
         final Response response = chain.proceed(request);
-        return mapper.toRecordoResponse(response);
+        final long firstByte = System.nanoTime();
+        final MockResponse recordoResponse = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toRecordoResponse(response), "client", "okhttp");
+        return recordoResponse.withTiming(Timing.of(start, firstByte, System.nanoTime()));
     }
 }
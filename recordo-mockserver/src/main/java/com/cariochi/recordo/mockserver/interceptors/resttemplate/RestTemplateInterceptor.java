@@ -1,9 +1,12 @@
 package com.cariochi.recordo.mockserver.interceptors.resttemplate;
 
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
 import com.cariochi.recordo.mockserver.interceptors.MockServerInterceptor;
 import com.cariochi.recordo.mockserver.interceptors.RecordoRequestHandler;
+import com.cariochi.recordo.mockserver.metrics.MockServerMetrics;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.cariochi.recordo.mockserver.model.MockResponse.Timing;
 import lombok.SneakyThrows;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.*;
@@ -43,15 +46,19 @@ public class RestTemplateInterceptor implements MockServerInterceptor, ClientHtt
 
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) {
-        final MockRequest recordoRequest = mapper.toRecordoRequest(request, body);
+        final MockRequest recordoRequest = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toRecordoRequest(request, body), "client", "resttemplate");
         final MockResponse recordoResponse = handler.onRequest(recordoRequest)
-                .orElseGet(() -> handler.onResponse(recordoRequest, mapper.toRecordoResponse(execute(request, body, execution))));
-        return mapper.toHttpResponse(recordoResponse);
+                .orElseGet(() -> ContentEncodings.decoded(handler.onResponse(recordoRequest, execute(request, body, execution))));
+        return MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toHttpResponse(recordoResponse), "client", "resttemplate");
     }
 
     @SneakyThrows
-    private ClientHttpResponse execute(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) {
-        return execution.execute(request, body);
+    private MockResponse execute(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) {
+        final long start = System.nanoTime();
+        final ClientHttpResponse response = execution.execute(request, body);
+        final long firstByte = System.nanoTime();
+        final MockResponse recordoResponse = MockServerMetrics.time(MockServerMetrics.CONVERSION, () -> mapper.toRecordoResponse(response), "client", "resttemplate");
+        return recordoResponse.withTiming(Timing.of(start, firstByte, System.nanoTime()));
     }
 
 }
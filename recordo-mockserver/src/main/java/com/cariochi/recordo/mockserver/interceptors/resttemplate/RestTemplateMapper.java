@@ -1,5 +1,6 @@
 package com.cariochi.recordo.mockserver.interceptors.resttemplate;
 
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
 import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.cariochi.recordo.mockserver.model.MockResponse;
 import lombok.Builder;
@@ -53,15 +54,16 @@ public class RestTemplateMapper {
 
     @SneakyThrows
     private String bodyOf(ClientHttpResponse response) {
-        final byte[] bytes = response.getBody().readAllBytes();
-        return bytes.length == 0 ? null : new String(bytes);
+        final String encoding = ContentEncodings.encodingOf(headersOf(response.getHeaders())).orElse(null);
+        final byte[] bytes = ContentEncodings.decode(response.getBody().readAllBytes(), encoding);
+        return bytes.length == 0 ? null : new String(bytes, UTF_8);
     }
 
     private ByteArrayInputStream bodyOf(MockResponse recordoResponse) {
-        final byte[] bytes = Optional.ofNullable(recordoResponse.getBody())
-                .map(String.class::cast)
-                .map(s -> s.getBytes(UTF_8))
-                .orElse(new byte[0]);
+        final Object body = recordoResponse.getBody();
+        final byte[] bytes = body instanceof byte[]
+                ? (byte[]) body
+                : Optional.ofNullable(body).map(String.class::cast).map(s -> s.getBytes(UTF_8)).orElse(new byte[0]);
         return new ByteArrayInputStream(bytes);
     }
 
@@ -0,0 +1,54 @@
+package com.cariochi.recordo.mockserver.metrics;
+
+import com.cariochi.recordo.core.SessionHooks;
+import com.cariochi.recordo.core.utils.Exceptions.SupplierEx;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+import java.util.ServiceLoader.Provider;
+import java.util.stream.Stream;
+
+import static java.util.ServiceLoader.load;
+import static java.util.stream.Collectors.toList;
+
+@UtilityClass
+public class MockServerMetrics {
+
+    public final String FILE_LOAD = "recordo.mockserver.file.load";
+    public final String MATCH_ATTEMPTS = "recordo.mockserver.match.attempts";
+    public final String COMPARE = "recordo.mockserver.compare";
+    public final String CONVERSION = "recordo.mockserver.conversion";
+    public final String BYTES_REPLAYED = "recordo.mockserver.bytes.replayed";
+    public final String BYTES_RECORDED = "recordo.mockserver.bytes.recorded";
+
+    private final MockServerReport report = new MockServerReport("mockserver-report.json");
+
+    private final List<MockServerMetricsListener> listeners = Stream.concat(
+            Stream.of(report),
+            load(MockServerMetricsListener.class).stream().map(Provider::get)
+    ).collect(toList());
+
+    static {
+        SessionHooks.onClose(report::write);
+    }
+
+    public void timer(String name, long nanos, String... tags) {
+        listeners.forEach(listener -> listener.timer(name, nanos, tags));
+    }
+
+    public void counter(String name, long amount, String... tags) {
+        listeners.forEach(listener -> listener.counter(name, amount, tags));
+    }
+
+    @SneakyThrows
+    public <T> T time(String name, SupplierEx<T> supplier, String... tags) {
+        final long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            timer(name, System.nanoTime() - start, tags);
+        }
+    }
+
+}
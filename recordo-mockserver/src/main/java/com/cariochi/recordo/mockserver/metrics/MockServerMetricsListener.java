@@ -0,0 +1,37 @@
+package com.cariochi.recordo.mockserver.metrics;
+
+/**
+ * Receives mock server metrics. Implementations are discovered with {@link java.util.ServiceLoader}.
+ * Names and tags follow Micrometer conventions, so a listener may simply delegate to a meter registry.
+ *
+ * <pre class="code"><code class="java">
+ *
+ *  public class MicrometerListener implements MockServerMetricsListener {
+ *
+ *      public void timer(String name, long nanos, String... tags) {
+ *          Metrics.timer(name, tags).record(nanos, TimeUnit.NANOSECONDS);
+ *      }
+ *
+ *      public void counter(String name, long amount, String... tags) {
+ *          Metrics.counter(name, tags).increment(amount);
+ *      }
+ *
+ *  }
+ *
+ * </code></pre>
+ */
+public interface MockServerMetricsListener {
+
+    /**
+     * @param tags key-value pairs
+     */
+    default void timer(String name, long nanos, String... tags) {
+    }
+
+    /**
+     * @param tags key-value pairs
+     */
+    default void counter(String name, long amount, String... tags) {
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.cariochi.recordo.mockserver.metrics;
+
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.Files;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
+@RequiredArgsConstructor
+class MockServerReport implements MockServerMetricsListener {
+
+    private final String fileName;
+    private final Map<Key, Stats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void timer(String name, long nanos, String... tags) {
+        stats.computeIfAbsent(new Key(name, List.of(tags)), key -> new Stats(true)).add(nanos);
+    }
+
+    @Override
+    public void counter(String name, long amount, String... tags) {
+        stats.computeIfAbsent(new Key(name, List.of(tags)), key -> new Stats(false)).add(amount);
+    }
+
+    void write() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        final List<Map<String, Object>> rows = stats.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Key, Stats> e) -> e.getKey().getName())
+                        .thenComparing(e -> -e.getValue().total.sum()))
+                .map(e -> e.getValue().toMap(e.getKey()))
+                .collect(toList());
+        final Path path = Files.reportPath(fileName);
+        try {
+            java.nio.file.Files.createDirectories(path.getParent());
+            java.nio.file.Files.write(path, new JsonConverter().toJson(rows).getBytes(UTF_8));
+            log.info("Mock server report is written to file://{}", path);
+        } catch (IOException e) {
+            log.warn("Cannot write mock server report to {}", path, e);
+        }
+    }
+
+    @Value
+    private static class Key {
+
+        String name;
+        List<String> tags;
+
+    }
+
+    @RequiredArgsConstructor
+    private static class Stats {
+
+        private final boolean timer;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void add(long value) {
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+        }
+
+        Map<String, Object> toMap(Key key) {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", key.getName());
+            map.put("tags", tagsOf(key.getTags()));
+            map.put("count", count.sum());
+            if (timer) {
+                map.put("totalMs", toMillis(total.sum()));
+                map.put("meanMs", toMillis(total.sum() / count.sum()));
+                map.put("maxMs", toMillis(max.get()));
+            } else {
+                map.put("total", total.sum());
+                map.put("mean", (double) total.sum() / count.sum());
+                map.put("max", max.get());
+            }
+            return map;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) MILLISECONDS.toNanos(1);
+        }
+
+        private static Map<String, String> tagsOf(List<String> tags) {
+            final Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i + 1 < tags.size(); i += 2) {
+                map.put(tags.get(i), tags.get(i + 1));
+            }
+            return map;
+        }
+
+    }
+
+}
@@ -8,6 +8,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 @Data
 @Builder
@@ -28,6 +29,8 @@ public class MockResponse {
 
     private Object body;
 
+    private Timing timing;
+
     public String contentType() {
         return headers.entrySet().stream()
                 .filter(e -> "content-type".equalsIgnoreCase(e.getKey()))
@@ -40,4 +43,29 @@ public class MockResponse {
     public boolean isJson() {
         return contentType().startsWith("application/json");
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Timing {
+
+        /**
+         * Milliseconds between sending the request and receiving the response headers.
+         */
+        private long timeToFirstByte;
+
+        /**
+         * Milliseconds between sending the request and reading the whole response body.
+         */
+        private long totalDuration;
+
+        public static Timing of(long startNanos, long firstByteNanos, long endNanos) {
+            return new Timing(
+                    NANOSECONDS.toMillis(firstByteNanos - startNanos),
+                    NANOSECONDS.toMillis(endNanos - startNanos)
+            );
+        }
+
+    }
+
 }
@@ -0,0 +1,73 @@
+package com.cariochi.recordo.mockserver.proxy;
+
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
+import com.cariochi.recordo.mockserver.model.MockRequest;
+import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.join;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toMap;
+
+public class ProxyMapper {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "date", "expect", "from", "host", "upgrade", "via", "warning",
+            "keep-alive", "proxy-connection", "te", "trailer", "transfer-encoding"
+    );
+
+    public MockRequest toRecordoRequest(HttpExchange exchange, String targetUrl, byte[] body) {
+        return MockRequest.builder()
+                .method(exchange.getRequestMethod())
+                .url(targetUrl + exchange.getRequestURI())
+                .headers(headersOf(exchange.getRequestHeaders()))
+                .body(body.length == 0 ? null : new String(body, UTF_8))
+                .build();
+    }
+
+    public HttpRequest toHttpRequest(HttpExchange exchange, String targetUrl, byte[] body) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(targetUrl + exchange.getRequestURI()))
+                .method(exchange.getRequestMethod(), body.length == 0 ? BodyPublishers.noBody() : BodyPublishers.ofByteArray(body));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        return builder.build();
+    }
+
+    public MockResponse toRecordoResponse(HttpResponse<byte[]> response) {
+        final Map<String, String> headers = headersOf(response.headers().map());
+        final byte[] body = ContentEncodings.decode(response.body(), ContentEncodings.encodingOf(headers).orElse(null));
+        return MockResponse.builder()
+                .protocol("http/1.1")
+                .statusCode(response.statusCode())
+                .headers(headers)
+                .body(body == null || body.length == 0 ? null : new String(body, UTF_8))
+                .build();
+    }
+
+    public void copyHeaders(HttpResponse<byte[]> response, Headers headers) {
+        response.headers().map().forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, values);
+            }
+        });
+    }
+
+    private Map<String, String> headersOf(Map<String, List<String>> headers) {
+        return headers.entrySet().stream()
+                .filter(e -> !e.getKey().startsWith(":"))
+                .collect(toMap(Map.Entry::getKey, e -> join(", ", e.getValue()), (u, v) -> u));
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.cariochi.recordo.mockserver.proxy;
+
+import com.cariochi.recordo.core.RecordoError;
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.mockserver.RecordoMockServer;
+import com.cariochi.recordo.mockserver.model.MockInteraction;
+import com.cariochi.recordo.mockserver.model.MockRequest;
+import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.cariochi.recordo.mockserver.model.MockResponse.Timing;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.cariochi.recordo.core.json.JsonUtils.compareMode;
+import static org.apache.commons.lang3.StringUtils.removeEnd;
+
+/**
+ * Loopback forwarding proxy recording all the interactions with a target server.
+ *
+ * <ul>
+ * <li>Requests are forwarded concurrently through a pooled http client.</li>
+ * <li>Interactions are appended to a lock-free queue drained by a single writer thread.</li>
+ * <li>The recording is written to the file when the proxy is closed.</li>
+ * </ul>
+ *
+ * <pre class="code"><code class="java">
+ *
+ *  try (RecordoProxyServer proxy = new RecordoProxyServer("https://api.github.com", "/mocks/gists.rest.json").start()) {
+ *      final GitHubClient client = new GitHubClient(proxy.getUrl());
+ *      ...
+ *  }
+ *
+ * </code></pre>
+ */
+@Slf4j
+public class RecordoProxyServer implements AutoCloseable {
+
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ProxyMapper mapper = new ProxyMapper();
+    private final Queue<MockInteraction> interactions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final String targetUrl;
+    private final RecordoMockServer recorder;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final HttpServer httpServer;
+    private final Thread writer;
+
+    private volatile boolean running;
+    private int recorded;
+
+    @Getter
+    private String url;
+
+    public RecordoProxyServer(String targetUrl, String fileName) {
+        this(targetUrl, fileName, new JsonConverter(), Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public RecordoProxyServer(String targetUrl, String fileName, JsonConverter jsonConverter, int threads) {
+        this.targetUrl = removeEnd(targetUrl, "/");
+        this.recorder = new RecordoMockServer("**", fileName, jsonConverter, compareMode(false, true));
+        this.executor = Executors.newFixedThreadPool(threads, this::daemonThread);
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.httpServer = createServer();
+        this.writer = new Thread(this::drain, "recordo-proxy-writer");
+        this.writer.setDaemon(true);
+    }
+
+    public RecordoProxyServer start() {
+        running = true;
+        writer.start();
+        httpServer.start();
+        url = "http://" + httpServer.getAddress().getHostString() + ":" + httpServer.getAddress().getPort();
+        log.info("Recording proxy to {} is started on {}", targetUrl, url);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        final long deadline = System.nanoTime() + CLOSE_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        httpServer.stop(0);
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        if (recorded > 0) {
+            recorder.close();
+        }
+    }
+
+    private HttpServer createServer() {
+        try {
+            final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/", this::forward);
+            server.setExecutor(executor);
+            return server;
+        } catch (IOException e) {
+            throw new RecordoError(e);
+        }
+    }
+
+    private void forward(HttpExchange exchange) throws IOException {
+        final byte[] body;
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            body = inputStream.readAllBytes();
+        }
+        final MockRequest request = mapper.toRecordoRequest(exchange, targetUrl, body);
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = mapper.toHttpRequest(exchange, targetUrl, body);
+        } catch (IllegalArgumentException e) {
+            log.warn("Proxy request [{}] {} is invalid: {}", request.getMethod(), request.getUrl(), e.toString());
+            exchange.sendResponseHeaders(400, -1);
+            exchange.close();
+            return;
+        }
+        inFlight.incrementAndGet();
+        final long start = System.nanoTime();
+        final AtomicLong firstByte = new AtomicLong();
+        final BodyHandler<byte[]> bodyHandler = responseInfo -> {
+            firstByte.set(System.nanoTime());
+            return BodySubscribers.ofByteArray();
+        };
+        httpClient.sendAsync(httpRequest, bodyHandler)
+                .whenComplete((response, error) -> {
+                    try {
+                        if (error == null) {
+                            final Timing timing = Timing.of(start, firstByte.get(), System.nanoTime());
+                            append(request, mapper.toRecordoResponse(response).withTiming(timing));
+                            respond(exchange, response);
+                        } else {
+                            log.warn("Proxy request [{}] {} failed: {}", request.getMethod(), request.getUrl(), error.toString());
+                            exchange.sendResponseHeaders(502, -1);
+                        }
+                    } catch (IOException e) {
+                        log.warn("Proxy response [{}] {} failed: {}", request.getMethod(), request.getUrl(), e.toString());
+                    } finally {
+                        exchange.close();
+                        inFlight.decrementAndGet();
+                    }
+                });
+    }
+
+    private void respond(HttpExchange exchange, HttpResponse<byte[]> response) throws IOException {
+        final byte[] body = response.body();
+        mapper.copyHeaders(response, exchange.getResponseHeaders());
+        exchange.sendResponseHeaders(response.statusCode(), body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        }
+    }
+
+    private void append(MockRequest request, MockResponse response) {
+        interactions.offer(new MockInteraction(request, response));
+        LockSupport.unpark(writer);
+    }
+
+    private void drain() {
+        while (running || !interactions.isEmpty()) {
+            final MockInteraction interaction = interactions.poll();
+            if (interaction == null) {
+                LockSupport.parkNanos(PARK_NANOS);
+            } else {
+                recorder.onResponse(interaction.getRequest(), interaction.getResponse());
+                recorded++;
+            }
+        }
+    }
+
+    private Thread daemonThread(Runnable runnable) {
+        final Thread thread = new Thread(runnable, "recordo-proxy");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.cariochi.recordo.mockmvc;
+
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static lombok.AccessLevel.NONE;
+
+/**
+ * Micro-benchmark of a request, verified against a baseline file.
+ * <ul>
+ * <li>Requests are performed {@code warmup} times, then {@code iterations} times on {@code threads} threads.</li>
+ * <li>Latencies of {@link org.springframework.test.web.servlet.MockMvc#perform} are recorded into a histogram.</li>
+ * <li>If the baseline file is absent, results are saved to it and the verification fails, like for snapshot files.</li>
+ * <li>The verification fails if p99 latency exceeds the baseline by more than {@code maxRegression}.</li>
+ * </ul>
+ * <pre class="code"><code class="java">
+ * mockMvc.get("/books/{id}", BookDto.class).uriVars(1)
+ *         .benchmark()
+ *         .warmup(500)
+ *         .iterations(5000)
+ *         .threads(4)
+ *         .verify("/benchmarks/get_book.json");
+ * </code></pre>
+ */
+@Slf4j
+@Setter
+@Accessors(fluent = true)
+public class Benchmark<RESP> {
+
+    private static final JsonConverter JSON_CONVERTER = new JsonConverter();
+
+    @Setter(NONE)
+    private final Request<RESP> request;
+
+    private int warmup = 100;
+    private int iterations = 1000;
+    private int threads = 1;
+
+    /**
+     * Allowed p99 latency regression, relative to the baseline: 0.25 allows p99 to be 25% higher.
+     */
+    private double maxRegression = 0.25;
+
+    Benchmark(Request<RESP> request) {
+        this.request = request;
+    }
+
+    public BenchmarkResult run() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, RecordoMockMvc::newThread);
+        try {
+            runOn(executor, warmup, null);
+            final long start = System.nanoTime();
+            runOn(executor, iterations, histogram);
+            final long elapsed = System.nanoTime() - start;
+            final BenchmarkResult result = BenchmarkResult.builder()
+                    .iterations(iterations)
+                    .threads(threads)
+                    .throughput(elapsed == 0 ? 0 : iterations * 1e9 / elapsed)
+                    .meanMs(millis(histogram.mean()))
+                    .p50Ms(millis(histogram.percentile(50)))
+                    .p90Ms(millis(histogram.percentile(90)))
+                    .p99Ms(millis(histogram.percentile(99)))
+                    .p999Ms(millis(histogram.percentile(99.9)))
+                    .maxMs(millis(histogram.max()))
+                    .build();
+            log.info("Benchmark [{}] {}: {}", request.method(), request.path(), result);
+            return result;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public BenchmarkResult verify(String baselineFile) {
+        final BenchmarkResult actual = run();
+        final String actualJson = JSON_CONVERTER.toJson(actual);
+        if (!Files.exists(baselineFile)) {
+            if (SnapshotUpdates.enabled()) {
+                Files.writeAsync(actualJson, baselineFile).ifPresent(SnapshotUpdates::updated);
+                return actual;
+            }
+            Files.writeAsync(actualJson, baselineFile)
+                    .ifPresent(Files.whenWritten(file -> log.info("\nBenchmark baseline is saved to file://{}", file)));
+            throw new AssertionError("Benchmark baseline file is absent");
+        }
+        final BenchmarkResult baseline = JSON_CONVERTER.fromJson(Files.read(baselineFile), BenchmarkResult.class);
+        final double regression = baseline.getP99Ms() == 0 ? 0 : actual.getP99Ms() / baseline.getP99Ms() - 1;
+        if (regression > maxRegression) {
+            if (SnapshotUpdates.enabled()) {
+                Files.writeAsync(actualJson, baselineFile).ifPresent(SnapshotUpdates::updated);
+                return actual;
+            }
+            Files.writeAsync(actualJson, actualFileName(baselineFile))
+                    .ifPresent(Files.whenWritten(file -> log.info("\nActual benchmark results are saved to file://{}", file)));
+            throw new AssertionError(format(
+                    "p99 latency regressed by %.1f%% (max %.1f%%): %.3f ms, baseline %.3f ms",
+                    regression * 100, maxRegression * 100, actual.getP99Ms(), baseline.getP99Ms()
+            ));
+        }
+        return actual;
+    }
+
+    @SneakyThrows
+    private void runOn(ExecutorService executor, int count, LatencyHistogram histogram) {
+        final AtomicInteger remaining = new AtomicInteger(count);
+        final Callable<Void> worker = () -> {
+            while (remaining.getAndDecrement() > 0) {
+                final Response<RESP> response = request.perform();
+                if (histogram != null) {
+                    histogram.record(response.getDuration().toNanos());
+                }
+            }
+            return null;
+        };
+        final List<Future<Void>> futures = executor.invokeAll(IntStream.range(0, threads).mapToObj(i -> worker).collect(toList()));
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static double millis(double nanos) {
+        return nanos / MILLISECONDS.toNanos(1);
+    }
+
+    private String actualFileName(String expectedFileName) {
+        return new StringBuilder(expectedFileName)
+                .insert(expectedFileName.lastIndexOf('/') + 1, "ACTUAL/")
+                .toString();
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.cariochi.recordo.mockmvc;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Benchmark measurements, stored as a baseline JSON file. Latencies are in milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchmarkResult {
+
+    private int iterations;
+    private int threads;
+    private double throughput;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+
+}
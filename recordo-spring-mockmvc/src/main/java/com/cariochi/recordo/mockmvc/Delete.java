@@ -17,5 +17,10 @@ public @interface Delete {
 
     HttpStatus expectedStatus() default OK;
 
+    /**
+     * JSON file the raw response body is verified against, without deserializing it.
+     */
+    String expectedFile() default "";
+
     Class<? extends RequestInterceptor>[] interceptors() default {};
 }
@@ -17,6 +17,11 @@ public @interface Get {
 
     HttpStatus expectedStatus() default OK;
 
+    /**
+     * JSON file the raw response body is verified against, without deserializing it.
+     */
+    String expectedFile() default "";
+
     Class<? extends RequestInterceptor>[] interceptors() default {};
 
 }
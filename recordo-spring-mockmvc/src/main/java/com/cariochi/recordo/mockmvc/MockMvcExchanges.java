@@ -0,0 +1,295 @@
+package com.cariochi.recordo.mockmvc;
+
+import com.cariochi.recordo.core.RecordoError;
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.ExceptionsCollector;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
+import com.cariochi.recordo.mockserver.MockHeaders;
+import com.cariochi.recordo.mockserver.model.MockInteraction;
+import com.cariochi.recordo.mockserver.model.MockRequest;
+import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.skyscreamer.jsonassert.JSONCompare.compareJSON;
+
+/**
+ * Record and replay of MockMvc exchanges, stored as {@link MockInteraction}s.
+ * <ul>
+ * <li>If the file is absent, exchanges performed through {@link #client()} are recorded,
+ * and written to the file at once when closed.</li>
+ * <li>If the file exists, exchanges performed through {@link #client()} are verified against the recorded exchanges
+ * with the same index, and {@link #replay(int)} performs all the recorded requests and verifies the responses.</li>
+ * <li>In update mode, the file is overwritten with the performed or replayed exchanges if they differ.</li>
+ * <li>Headers are recorded as by the mock server: only included headers are kept, and sensitive values are masked.
+ * The content type of a body is always recorded.</li>
+ * <li>JSON bodies are recorded as JSON, text bodies as strings, and other bodies as Base64 strings.
+ * Multipart requests are not supported.</li>
+ * <li>Responses are verified by status code and body. JSON bodies are compared as parsed trees,
+ * and rendered as strings for failure messages only.</li>
+ * </ul>
+ * <pre class="code"><code class="java">
+ * try (MockMvcExchanges exchanges = mockMvc.exchanges("/exchanges/books.json")) {
+ *     exchanges.client().get("/books/{id}", BookDto.class).uriVars(1).perform();
+ *     exchanges.client().post("/books", BookDto.class).body(book).perform();
+ * }
+ * mockMvc.exchanges("/exchanges/books.json").replay(4);
+ * </code></pre>
+ */
+@Slf4j
+public class MockMvcExchanges implements AutoCloseable {
+
+    private static final Type TYPE = new TypeReference<List<MockInteraction>>() {}.getType();
+    private static final String CONTENT_TYPE = "content-type";
+    private static final Base64.Encoder BASE64 = Base64.getEncoder();
+
+    private final RecordoMockMvc mockMvc;
+    private final RecordoMockMvc client;
+    private final JsonConverter jsonConverter;
+    private final ObjectMapper objectMapper;
+    private final String fileName;
+    private final boolean absent;
+    private final boolean updating;
+    private final List<MockInteraction> expected;
+    private final List<MockInteraction> actual = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger index = new AtomicInteger();
+
+    MockMvcExchanges(RecordoMockMvc mockMvc, JsonConverter jsonConverter, String fileName) {
+        this.mockMvc = mockMvc;
+        this.client = mockMvc.withExchanges(this);
+        this.jsonConverter = jsonConverter;
+        this.objectMapper = jsonConverter.objectMapper(null);
+        this.fileName = fileName;
+        this.absent = !Files.exists(fileName);
+        this.updating = SnapshotUpdates.enabled();
+        this.expected = absent ? List.of() : jsonConverter.fromJson(Files.read(fileName), TYPE);
+    }
+
+    /**
+     * Client recording or verifying performed exchanges.
+     */
+    public RecordoMockMvc client() {
+        return client;
+    }
+
+    /**
+     * Performs the recorded requests in {@code partitions} contiguous partitions, in parallel,
+     * and verifies the responses. Requests of a partition are performed in the recorded order.
+     */
+    public void replay(int partitions) {
+        if (absent) {
+            throw new AssertionError("Recorded exchanges file is absent: " + fileName);
+        }
+        final int size = expected.size();
+        final MockInteraction[] replayed = new MockInteraction[size];
+        final int count = Math.max(1, Math.min(partitions, size));
+        final ExceptionsCollector failures = ExceptionsCollector.of(AssertionError.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(count, RecordoMockMvc::newThread);
+        try {
+            CompletableFuture.allOf(
+                    IntStream.range(0, count)
+                            .mapToObj(partition -> (Runnable) () -> IntStream.range(size * partition / count, size * (partition + 1) / count)
+                                    .forEach(i -> failures.running(() -> replayExchange(i, replayed)).run()))
+                            .map(partition -> CompletableFuture.runAsync(partition, executor))
+                            .toArray(CompletableFuture[]::new)
+            ).join();
+        } finally {
+            executor.shutdown();
+        }
+        if (failures.hasExceptions() && updating) {
+            write(List.of(replayed));
+            return;
+        }
+        if (failures.hasExceptions()) {
+            throw new AssertionError(format("%d of %d exchanges differ%n%n%s", failures.size(), size, failures.getMessage()));
+        }
+        log.info("{} exchanges are replayed from file://{}", size, Files.path(fileName));
+    }
+
+    public void replay() {
+        replay(1);
+    }
+
+    @Override
+    public void close() {
+        if (absent || updating) {
+            if (!actual.isEmpty() && !actual.equals(expected)) {
+                write(actual);
+            }
+        } else if (index.get() > 0 && index.get() < expected.size()) {
+            throw new AssertionError(format("Only %d of %d recorded exchanges were performed", index.get(), expected.size()));
+        }
+    }
+
+    void exchanged(Request<?> request, MockHttpServletResponse response, byte[] content) {
+        if (!request.parts().isEmpty()) {
+            throw new RecordoError(format("Multipart request [%s] %s can't be recorded as an exchange", request.method(), request.path()));
+        }
+        final MockRequest mockRequest = requestOf(request);
+        if (absent || updating) {
+            actual.add(new MockInteraction(mockRequest, responseOf(response, content)));
+            return;
+        }
+        final int i = index.getAndIncrement();
+        if (i >= expected.size()) {
+            throw new AssertionError(format("Unexpected exchange %s", labelOf(i, mockRequest)));
+        }
+        final MockRequest expectedRequest = expected.get(i).getRequest();
+        if (!expectedRequest.getMethod().equals(mockRequest.getMethod()) || !expectedRequest.getUrl().equals(mockRequest.getUrl())) {
+            throw new AssertionError(format("Exchange %s is expected, but was [%s] %s",
+                    labelOf(i, expectedRequest), mockRequest.getMethod(), mockRequest.getUrl()));
+        }
+        verify(i, expected.get(i), response, content);
+    }
+
+    private void replayExchange(int i, MockInteraction[] replayed) {
+        final MockInteraction interaction = expected.get(i);
+        final MockRequest request = interaction.getRequest();
+        final MockHttpServletResponse response = mockMvc.execute(request, request.getBody() == null ? null : bytesOf(request.getBody(), request.contentType()));
+        final byte[] content = response.getContentAsByteArray();
+        replayed[i] = updating ? new MockInteraction(interaction.getRequest(), responseOf(response, content)) : interaction;
+        verify(i, interaction, response, content);
+    }
+
+    private void write(List<MockInteraction> interactions) {
+        Files.writeAsync(jsonConverter.toJson(interactions), fileName).ifPresent(file -> {
+            if (updating) {
+                SnapshotUpdates.updated(file);
+            } else {
+                AsyncFileWriter.written(file)
+                        .thenAccept(path -> log.info("{} MockMvc exchanges are recorded to file://{}", interactions.size(), path));
+            }
+        });
+    }
+
+    @SneakyThrows
+    private void verify(int i, MockInteraction interaction, MockHttpServletResponse response, byte[] content) {
+        final MockResponse expectedResponse = interaction.getResponse();
+        final String label = labelOf(i, interaction.getRequest());
+        if (!Objects.equals(expectedResponse.getStatusCode(), response.getStatus())) {
+            throw new AssertionError(format("%s%nExpected status %s but was %s", label, expectedResponse.getStatusCode(), response.getStatus()));
+        }
+        final Object expectedBody = expectedResponse.getBody();
+        if (expectedBody == null) {
+            if (!RecordoMockMvc.isBlank(content)) {
+                throw new AssertionError(format("%s%nUnexpected body: %s", label, response.getContentAsString()));
+            }
+        } else if (expectedResponse.isJson() && !(expectedBody instanceof String)) {
+            if (RecordoMockMvc.isBlank(content) || !objectMapper.valueToTree(expectedBody).equals(objectMapper.readTree(content))) {
+                final String expectedJson = jsonConverter.toJson(expectedBody);
+                final String actualJson = new String(content, UTF_8);
+                throw new AssertionError(format("%s%n%s%nExpected body:%n%s%nActual body:%n%s",
+                        label, compareJSON(expectedJson, actualJson, JSONCompareMode.STRICT).getMessage(), expectedJson, actualJson));
+            }
+        } else if (!isText(expectedResponse.contentType())) {
+            if (!Arrays.equals(bytesOf(expectedBody, expectedResponse.contentType()), content)) {
+                throw new AssertionError(format("%s%nExpected body:%n%s%nActual body:%n%s", label, expectedBody, BASE64.encodeToString(content)));
+            }
+        } else if (!expectedBody.equals(response.getContentAsString())) {
+            throw new AssertionError(format("%s%nExpected body:%n%s%nActual body:%n%s", label, expectedBody, response.getContentAsString()));
+        }
+    }
+
+    private MockRequest requestOf(Request<?> request) {
+        final Map<String, String> headers = new LinkedHashMap<>(MockHeaders.filtered(request.headers()));
+        final Object body = request.body();
+        if (body == null) {
+            return MockRequest.builder().method(request.method().name()).url(urlOf(request)).headers(headers).build();
+        }
+        final String contentType = RecordoMockMvc.contentTypeOf(request).toString();
+        headers.put(CONTENT_TYPE, contentType);
+        final byte[] content = body instanceof byte[] ? (byte[]) body : jsonConverter.toJsonBytes(body);
+        return MockRequest.builder()
+                .method(request.method().name())
+                .url(urlOf(request))
+                .headers(headers)
+                .body(bodyOf(content, contentType))
+                .build();
+    }
+
+    @SneakyThrows
+    private MockResponse responseOf(MockHttpServletResponse response, byte[] content) {
+        final Map<String, String> headers = new LinkedHashMap<>(MockHeaders.filtered(RecordoMockMvc.headersOf(response)));
+        if (RecordoMockMvc.isBlank(content)) {
+            return MockResponse.builder().statusCode(response.getStatus()).headers(headers).build();
+        }
+        Optional.ofNullable(response.getContentType()).ifPresent(contentType -> headers.put(CONTENT_TYPE, contentType));
+        final MockResponse mockResponse = MockResponse.builder()
+                .statusCode(response.getStatus())
+                .headers(headers)
+                .build();
+        final String contentType = mockResponse.contentType();
+        return mockResponse.withBody(isText(contentType) && !isJson(contentType)
+                ? response.getContentAsString()
+                : bodyOf(content, contentType));
+    }
+
+    /**
+     * JSON body is parsed, text body is decoded as UTF-8, and other body is encoded as a Base64 string.
+     */
+    private Object bodyOf(byte[] content, String contentType) {
+        if (isJson(contentType)) {
+            return jsonConverter.fromJson(content, Object.class);
+        }
+        return isText(contentType) ? new String(content, UTF_8) : BASE64.encodeToString(content);
+    }
+
+    private byte[] bytesOf(Object body, String contentType) {
+        if (isJson(contentType)) {
+            return jsonConverter.toJsonBytes(body);
+        }
+        return isText(contentType) ? ((String) body).getBytes(UTF_8) : Base64.getDecoder().decode((String) body);
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType.startsWith("application/json");
+    }
+
+    private static boolean isText(String contentType) {
+        final MediaType mediaType = MediaType.parseMediaType(contentType);
+        return "text".equals(mediaType.getType())
+                || mediaType.getSubtype().endsWith("json")
+                || mediaType.getSubtype().endsWith("xml")
+                || MediaType.APPLICATION_FORM_URLENCODED.includes(mediaType);
+    }
+
+    private static String urlOf(Request<?> request) {
+        return UriComponentsBuilder.fromUriString(request.path())
+                .queryParams(request.params())
+                .buildAndExpand(request.uriVars())
+                .encode()
+                .toUriString();
+    }
+
+    private String labelOf(int i, MockRequest request) {
+        final int width = String.valueOf(Math.max(expected.size(), 1)).length();
+        return format("#%0" + width + "d [%s] %s", i + 1, request.getMethod(), request.getUrl());
+    }
+
+}
@@ -22,5 +22,10 @@ public @interface Perform {
 
     HttpStatus expectedStatus() default OK;
 
+    /**
+     * JSON file the raw response body is verified against, without deserializing it.
+     */
+    String expectedFile() default "";
+
     Class<? extends RequestInterceptor>[] interceptors() default {};
 }
@@ -1,45 +1,107 @@
 package com.cariochi.recordo.mockmvc;
 
+import com.cariochi.recordo.assertions.JsonAssertion;
+import com.cariochi.recordo.core.RecordoError;
 import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.json.RawJson;
+import com.cariochi.recordo.core.utils.Files;
 import com.cariochi.recordo.mockmvc.dto.PageBuilder;
 import com.cariochi.recordo.mockmvc.dto.SliceBuilder;
+import com.cariochi.recordo.mockserver.model.MockRequest;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.String.format;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.HttpMethod.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 
-@RequiredArgsConstructor
+@Slf4j
 public class RecordoMockMvc {
 
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(RecordoMockMvc::newThread);
+
     private final MockMvc mockMvc;
     private final JsonConverter jsonConverter;
+    private final Map<Type, JavaType> javaTypes = new ConcurrentHashMap<>();
+    private final MockMvcExchanges exchanges;
+
+    public RecordoMockMvc(MockMvc mockMvc, JsonConverter jsonConverter) {
+        this(mockMvc, jsonConverter, null);
+    }
 
     public RecordoMockMvc(MockMvc mockMvc, ObjectMapper objectMapper) {
+        this(mockMvc, new JsonConverter(objectMapper));
+    }
+
+    private RecordoMockMvc(MockMvc mockMvc, JsonConverter jsonConverter, MockMvcExchanges exchanges) {
         this.mockMvc = mockMvc;
-        this.jsonConverter = new JsonConverter(objectMapper);
+        this.jsonConverter = jsonConverter;
+        this.exchanges = exchanges;
+    }
+
+    /**
+     * @see MockMvcExchanges
+     */
+    public MockMvcExchanges exchanges(String fileName) {
+        return new MockMvcExchanges(this, jsonConverter, fileName);
+    }
+
+    RecordoMockMvc withExchanges(MockMvcExchanges exchanges) {
+        return new RecordoMockMvc(mockMvc, jsonConverter, exchanges);
     }
 
     // Request
@@ -131,40 +193,237 @@ public class RecordoMockMvc {
     }
 
 
-    @SneakyThrows
-    public <RESP> Response<RESP> perform(Request<RESP> request) {
-        final MockHttpServletRequestBuilder requestBuilder =
-                MockMvcRequestBuilders.request(request.method(), request.path(), request.uriVars())
-                        .params(request.params());
+    // Concurrent requests
 
-        if (request.body() != null) {
-            requestBuilder.contentType(APPLICATION_JSON);
-            requestBuilder.content(jsonConverter.toJson(request.body()));
+    public <RESP> CompletableFuture<Response<RESP>> performAsync(Request<RESP> request) {
+        return performAsync(request, EXECUTOR);
+    }
+
+    public <RESP> CompletableFuture<Response<RESP>> performAsync(Request<RESP> request, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> perform(request), executor);
+    }
+
+    /**
+     * Performs requests concurrently on a pool of {@code parallelism} threads.
+     * The first failure, if any, is thrown after all requests are completed.
+     */
+    public <RESP> Responses<RESP> performAll(Collection<? extends Request<RESP>> requests, int parallelism) {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, RecordoMockMvc::newThread);
+        try {
+            return performAll(requests, executor);
+        } finally {
+            executor.shutdown();
         }
+    }
 
-        request.headers().forEach(requestBuilder::header);
+    /**
+     * Performs requests concurrently on the executor, e.g. a virtual thread per task executor.
+     * The first failure, if any, is thrown after all requests are completed.
+     */
+    public <RESP> Responses<RESP> performAll(Collection<? extends Request<RESP>> requests, Executor executor) {
+        final long start = System.nanoTime();
+        final List<CompletableFuture<Response<RESP>>> futures = requests.stream()
+                .map(request -> performAsync(request, executor))
+                .collect(toList());
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        final Responses<RESP> responses = new Responses<>(
+                futures.stream().map(RecordoMockMvc::resultOf).collect(toList()),
+                Duration.ofNanos(System.nanoTime() - start)
+        );
+        log.info("Performed {}", responses);
+        return responses;
+    }
 
-        final MockHttpServletResponse response = mockMvc
-                .perform(requestBuilder)
-                .andReturn()
-                .getResponse();
+    public <RESP> Response<RESP> perform(Request<RESP> request) {
+        final long start = System.nanoTime();
+        final MockHttpServletResponse response = execute(request);
+        final Duration duration = Duration.ofNanos(System.nanoTime() - start);
 
+        final byte[] content = response.getContentAsByteArray();
 
-        Optional.ofNullable(request.expectedStatus())
-                .map(HttpStatus::value)
-                .ifPresent(expectedStatus -> assertThat(response.getStatus()).isEqualTo(expectedStatus));
+        if (exchanges != null) {
+            exchanges.exchanged(request, response, content);
+        }
 
-        final String contentAsString = response.getContentAsString();
+        if (request.expectedFile() != null) {
+            JsonAssertion.assertAsJson(RawJson.of(content)).isEqualTo(request.expectedFile());
+        }
 
         return Response.<RESP>builder()
                 .status(HttpStatus.valueOf(response.getStatus()))
                 .headers(headersOf(response))
-                .body(isBlank(contentAsString) ? null : fromJson(contentAsString, request.responseType()))
+                .body(body(response, content, request.responseType()))
+                .duration(duration)
                 .build();
 
     }
 
-    private Map<String, String> headersOf(MockHttpServletResponse response) {
+    /**
+     * Streams items of a JSON array response, deserializing them one by one.
+     * The response type of the request is the type of the items.
+     */
+    @SneakyThrows
+    public <RESP> Stream<RESP> performAndStream(Request<RESP> request) {
+        final MockHttpServletResponse response = execute(request);
+        final byte[] content = response.getContentAsByteArray();
+        if (isBlank(content)) {
+            return Stream.empty();
+        }
+        final MappingIterator<RESP> items = jsonConverter.objectMapper(null)
+                .readerFor(javaTypeOf(request.responseType()))
+                .readValues(content);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, ORDERED | NONNULL), false)
+                .onClose(() -> closeQuietly(items));
+    }
+
+    @SneakyThrows
+    MockHttpServletResponse execute(MockRequest request, byte[] content) {
+        final MockHttpServletRequestBuilder requestBuilder =
+                MockMvcRequestBuilders.request(HttpMethod.valueOf(request.getMethod()), URI.create(request.getUrl()));
+
+        if (content != null) {
+            requestBuilder.contentType(request.contentType());
+            requestBuilder.content(content);
+        }
+
+        request.getHeaders().entrySet().stream()
+                .filter(header -> !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey()))
+                .forEach(header -> requestBuilder.header(header.getKey(), header.getValue()));
+
+        return dispatch(requestBuilder);
+    }
+
+    @SneakyThrows
+    private MockHttpServletResponse execute(Request<?> request) {
+        final MockHttpServletRequestBuilder requestBuilder = requestBuilder(request).params(request.params());
+
+        if (request.body() instanceof byte[]) {
+            requestBuilder.contentType(contentTypeOf(request));
+            requestBuilder.content((byte[]) request.body());
+        } else if (request.body() != null) {
+            requestBuilder.contentType(contentTypeOf(request));
+            requestBuilder.content(jsonConverter.toJsonBytes(request.body()));
+        }
+
+        request.headers().forEach(requestBuilder::header);
+
+        final MockHttpServletResponse response = dispatch(requestBuilder);
+
+        Optional.ofNullable(request.expectedStatus())
+                .map(HttpStatus::value)
+                .ifPresent(expectedStatus -> assertThat(response.getStatus())
+                        .as(() -> "Response body: " + contentAsString(response))
+                        .isEqualTo(expectedStatus));
+
+        return response;
+    }
+
+    /**
+     * Multipart requests keep the request method, and parts are copied from the files without decoding.
+     */
+    private MockHttpServletRequestBuilder requestBuilder(Request<?> request) throws IOException {
+        if (request.parts().isEmpty()) {
+            return MockMvcRequestBuilders.request(request.method(), request.path(), request.uriVars());
+        }
+        final MockMultipartHttpServletRequestBuilder requestBuilder =
+                MockMvcRequestBuilders.multipart(request.path(), request.uriVars());
+        for (Request.Part part : request.parts()) {
+            requestBuilder.file(multipartFile(part));
+        }
+        if (request.method() != POST) {
+            requestBuilder.with(servletRequest -> {
+                servletRequest.setMethod(request.method().name());
+                return servletRequest;
+            });
+        }
+        return requestBuilder;
+    }
+
+    private static MockMultipartFile multipartFile(Request.Part part) throws IOException {
+        final Path path = Files.path(part.file());
+        final String fileName = path.getFileName().toString();
+        final MediaType contentType = Optional.ofNullable(part.contentType())
+                .or(() -> MediaTypeFactory.getMediaType(fileName))
+                .orElse(APPLICATION_OCTET_STREAM);
+        try (InputStream content = java.nio.file.Files.newInputStream(path)) {
+            return new MockMultipartFile(part.name(), fileName, contentType.toString(), content);
+        }
+    }
+
+    /**
+     * Async requests, e.g. {@code StreamingResponseBody} or {@code ResponseBodyEmitter} responses,
+     * are awaited and dispatched again to complete the response.
+     */
+    private MockHttpServletResponse dispatch(RequestBuilder requestBuilder) throws Exception {
+        final MvcResult result = mockMvc.perform(requestBuilder).andReturn();
+        if (!result.getRequest().isAsyncStarted()) {
+            return result.getResponse();
+        }
+        result.getAsyncResult();
+        return mockMvc.perform(asyncDispatch(result)).andReturn().getResponse();
+    }
+
+    /**
+     * Binary responses are returned as is, as a byte array or an input stream to be consumed incrementally.
+     */
+    private <RESP> RESP body(MockHttpServletResponse response, byte[] content, Type responseType) {
+        if (byte[].class.equals(responseType)) {
+            return (RESP) content;
+        }
+        if (InputStream.class.equals(responseType)) {
+            return (RESP) new ByteArrayInputStream(content);
+        }
+        if (isBlank(content) || Void.class.equals(responseType)) {
+            return null;
+        }
+        if (String.class.equals(responseType)) {
+            return (RESP) contentAsString(response);
+        }
+        try {
+            return fromJson(content, responseType);
+        } catch (RuntimeException e) {
+            throw new RecordoError(format("Cannot read response body as %s:%n%s", responseType.getTypeName(), contentAsString(response)), e);
+        }
+    }
+
+    /**
+     * String view of the response body, for String responses and failure messages only.
+     */
+    @SneakyThrows
+    private String contentAsString(MockHttpServletResponse response) {
+        return response.getContentAsString();
+    }
+
+    @SneakyThrows
+    private static <T> T resultOf(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    static Thread newThread(Runnable runnable) {
+        final Thread thread = new Thread(runnable, "recordo-mockmvc-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    static boolean isBlank(byte[] content) {
+        for (byte b : content) {
+            if (!Character.isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static MediaType contentTypeOf(Request<?> request) {
+        return Optional.ofNullable(request.contentType())
+                .orElse(request.body() instanceof byte[] ? APPLICATION_OCTET_STREAM : APPLICATION_JSON);
+    }
+
+    static Map<String, String> headersOf(MockHttpServletResponse response) {
         return response.getHeaderNames().stream()
                 .collect(toMap(
                         identity(),
@@ -172,32 +431,43 @@ public class RecordoMockMvc {
                 ));
     }
 
-    private <RESP> RESP fromJson(String json, Type responseType) {
-        if (responseType instanceof ParameterizedType) {
-            ParameterizedType parameterizedType = (ParameterizedType) responseType;
-            if (parameterizedType.getRawType().equals(Page.class)) {
-                return pageFromJson(json, parameterizedType);
-            } else if (parameterizedType.getRawType().equals(Slice.class)) {
-                return sliceFromJson(json, parameterizedType);
-            }
+    private <RESP> RESP fromJson(byte[] json, Type responseType) {
+        final JavaType javaType = javaTypeOf(responseType);
+        if (javaType.hasRawClass(PageBuilder.class)) {
+            final PageBuilder<?> pageBuilder = jsonConverter.fromJson(json, javaType);
+            return (RESP) pageBuilder.build();
+        } else if (javaType.hasRawClass(SliceBuilder.class)) {
+            final SliceBuilder<?> sliceBuilder = jsonConverter.fromJson(json, javaType);
+            return (RESP) sliceBuilder.build();
         }
-        return jsonConverter.fromJson(json, responseType);
+        return jsonConverter.fromJson(json, javaType);
     }
 
-    private <RESP> RESP pageFromJson(String json, ParameterizedType parameterizedType) {
-        final TypeFactory typeFactory = TypeFactory.defaultInstance();
-        final JavaType pageItemType = typeFactory.constructType(parameterizedType.getActualTypeArguments()[0]);
-        final JavaType pageType = typeFactory.constructParametricType(PageBuilder.class, pageItemType);
-        final PageBuilder<?> pageBuilder = jsonConverter.fromJson(json, pageType);
-        return (RESP) pageBuilder.build();
+    /**
+     * Page and Slice responses are read as {@link PageBuilder} and {@link SliceBuilder}.
+     */
+    private JavaType javaTypeOf(Type responseType) {
+        return javaTypes.computeIfAbsent(responseType, type -> {
+            final TypeFactory typeFactory = jsonConverter.objectMapper(null).getTypeFactory();
+            if (type instanceof ParameterizedType) {
+                final ParameterizedType parameterizedType = (ParameterizedType) type;
+                final JavaType itemType = typeFactory.constructType(parameterizedType.getActualTypeArguments()[0]);
+                if (parameterizedType.getRawType().equals(Page.class)) {
+                    return typeFactory.constructParametricType(PageBuilder.class, itemType);
+                } else if (parameterizedType.getRawType().equals(Slice.class)) {
+                    return typeFactory.constructParametricType(SliceBuilder.class, itemType);
+                }
+            }
+            return typeFactory.constructType(type);
+        });
     }
 
-    private <RESP> RESP sliceFromJson(String json, ParameterizedType parameterizedType) {
-        final TypeFactory typeFactory = TypeFactory.defaultInstance();
-        final JavaType sliceItemType = typeFactory.constructType(parameterizedType.getActualTypeArguments()[0]);
-        final JavaType pageType = typeFactory.constructParametricType(SliceBuilder.class, sliceItemType);
-        final SliceBuilder<?> sliceBuilder = jsonConverter.fromJson(json, pageType);
-        return (RESP) sliceBuilder.build();
+    private static void closeQuietly(MappingIterator<?> iterator) {
+        try {
+            iterator.close();
+        } catch (IOException e) {
+            log.warn("Cannot close response items iterator", e);
+        }
     }
 
 }
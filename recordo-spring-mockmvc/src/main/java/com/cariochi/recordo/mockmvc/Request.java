@@ -4,16 +4,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.Value;
 import lombok.experimental.Accessors;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static lombok.AccessLevel.NONE;
@@ -39,14 +45,53 @@ public class Request<RESP> {
     @Setter(NONE)
     private MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
 
+    /**
+     * Request body, serialized to JSON, or sent as is for a byte array.
+     */
     private Object body;
 
+    /**
+     * Content type of the body: {@code application/json} by default, {@code application/octet-stream} for a byte array.
+     */
+    private MediaType contentType;
+
+    /**
+     * Multipart parts, read from files when the request is performed.
+     */
+    @Setter(NONE)
+    private List<Part> parts = new ArrayList<>();
+
     private HttpStatus expectedStatus;
 
+    /**
+     * JSON file the raw response body is verified against.
+     * The body is not deserialized for the {@link Void} response type.
+     */
+    private String expectedFile;
+
     public Response<RESP> perform() {
         return client.perform(this);
     }
 
+    /**
+     * Streams items of a JSON array response, with {@code responseType} as the type of the items.
+     */
+    public Stream<RESP> performAndStream() {
+        return client.performAndStream(this);
+    }
+
+    public Benchmark<RESP> benchmark() {
+        return new Benchmark<>(this);
+    }
+
+    public CompletableFuture<Response<RESP>> performAsync() {
+        return client.performAsync(this);
+    }
+
+    public CompletableFuture<Response<RESP>> performAsync(Executor executor) {
+        return client.performAsync(this, executor);
+    }
+
     public Request<RESP> headers(Map<String, String> headers) {
         this.headers.clear();
         this.headers.putAll(headers);
@@ -73,8 +118,26 @@ public class Request<RESP> {
         return this;
     }
 
+    public Request<RESP> part(String name, String file) {
+        return part(name, file, null);
+    }
+
+    public Request<RESP> part(String name, String file, MediaType contentType) {
+        parts.add(new Part(name, file, contentType));
+        return this;
+    }
+
     private void addToParams(String name, List<String> values) {
         values.forEach(value -> params.add(name, value));
     }
 
+    @Value
+    public static class Part {
+
+        String name;
+        String file;
+        MediaType contentType;
+
+    }
+
 }
@@ -3,9 +3,11 @@ package com.cariochi.recordo.mockmvc;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -20,4 +22,15 @@ public class Response<T> {
     private Map<String, String> headers = new LinkedHashMap<>();
     private T body;
 
+    /**
+     * Time spent by {@link org.springframework.test.web.servlet.MockMvc} to perform the request.
+     * It is not compared by {@link #equals(Object)}.
+     */
+    @EqualsAndHashCode.Exclude
+    private Duration duration;
+
+    public Response(HttpStatus status, Map<String, String> headers, T body) {
+        this(status, headers, body, null);
+    }
+
 }
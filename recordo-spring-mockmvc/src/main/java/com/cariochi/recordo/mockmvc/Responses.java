@@ -0,0 +1,76 @@
+package com.cariochi.recordo.mockmvc;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static lombok.AccessLevel.NONE;
+
+/**
+ * Responses of concurrently performed requests, in the order of the requests, with latency statistics.
+ * <pre class="code"><code class="java">
+ * final Responses&lt;BookDto&gt; responses = mockMvc.performAll(requests, 8);
+ * assertThat(responses.latency(99)).isLessThan(Duration.ofMillis(50));
+ * </code></pre>
+ */
+@Getter
+public class Responses<T> {
+
+    private final List<Response<T>> responses;
+    private final Duration elapsed;
+
+    @Getter(NONE)
+    private final long[] sortedLatencies;
+
+    public Responses(List<Response<T>> responses, Duration elapsed) {
+        this.responses = responses;
+        this.elapsed = elapsed;
+        this.sortedLatencies = responses.stream()
+                .map(Response::getDuration)
+                .mapToLong(Duration::toNanos)
+                .sorted()
+                .toArray();
+    }
+
+    public List<T> getBodies() {
+        return responses.stream().map(Response::getBody).collect(toList());
+    }
+
+    /**
+     * Nearest-rank latency percentile.
+     *
+     * @param percentile from 0 to 100
+     */
+    public Duration latency(double percentile) {
+        if (sortedLatencies.length == 0) {
+            return Duration.ZERO;
+        }
+        final int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return Duration.ofNanos(sortedLatencies[Math.min(Math.max(rank, 1), sortedLatencies.length) - 1]);
+    }
+
+    /**
+     * Requests per second.
+     */
+    public double getThroughput() {
+        return elapsed.isZero() ? 0 : responses.size() * 1e9 / elapsed.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        return format(
+                "%d requests in %.1f ms (%.1f req/s): p50=%.2f ms, p90=%.2f ms, p99=%.2f ms, max=%.2f ms",
+                responses.size(), millis(elapsed), getThroughput(),
+                millis(latency(50)), millis(latency(90)), millis(latency(99)), millis(latency(100))
+        );
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / (double) MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.cariochi.recordo.mockmvc.extensions;
 import com.cariochi.recordo.core.EnableRecordo;
 import com.cariochi.recordo.core.Extension;
 import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.FileCache;
 import com.cariochi.recordo.core.utils.ObjectReader;
 import com.cariochi.recordo.mockmvc.RecordoMockMvc;
 import com.cariochi.recordo.mockmvc.Request;
@@ -13,6 +14,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolver;
 import org.springframework.beans.BeansException;
@@ -20,15 +23,22 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.cariochi.recordo.core.json.JsonConverters.findJsonConverter;
 import static com.cariochi.recordo.core.json.JsonConverters.getJsonConverter;
 import static com.cariochi.reflecto.Reflecto.reflect;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.lang3.StringUtils.substringAfter;
 import static org.apache.commons.lang3.StringUtils.substringBefore;
@@ -36,46 +46,110 @@ import static org.springframework.test.context.junit.jupiter.SpringExtension.get
 
 public abstract class AbstractMockMvcExtension implements Extension, ParameterResolver {
 
-    protected Object processRequest(HttpMethod method,
-                                    String path,
-                                    String[] headers,
-                                    String bodyFile,
-                                    HttpStatus status,
-                                    Class<? extends RequestInterceptor>[] interceptors,
-                                    ParameterContext parameter,
-                                    ExtensionContext extension) {
-
-        final String body = Optional.ofNullable(bodyFile)
-                .filter(StringUtils::isNotBlank)
-                .map(file -> getBodyFromFile(file, extension.getRequiredTestInstance()))
-                .orElse(null);
+    private static final Namespace NAMESPACE = Namespace.create(AbstractMockMvcExtension.class);
+
+    private static final FileCache<String> BODIES = new FileCache<>();
+
+    /**
+     * Request metadata is compiled once per parameter, and cached in the root store.
+     */
+    protected Object processRequest(ParameterContext parameter,
+                                    ExtensionContext extension,
+                                    Supplier<RequestMetadata> compiler) {
 
-        final Type responseType = getResponseType(parameter);
+        final RequestMetadata metadata = extension.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(parameter.getParameter(), p -> compiler.get(), RequestMetadata.class);
+
+        final String body = Optional.ofNullable(metadata.getBodyFile())
+                .map(file -> BODIES.get(file, f -> getBodyFromFile(f, extension.getRequiredTestInstance())))
+                .orElse(null);
 
         final RecordoMockMvc mockMvc = getMockMvcClient(extension);
 
         Request<Object> request = mockMvc
-                .request(method, path, responseType)
-                .headers(parseHeaders(headers))
-                .expectedStatus(status)
+                .request(metadata.getMethod(), metadata.getPath(), metadata.getResponseType())
+                .headers(metadata.getHeaders())
+                .expectedStatus(metadata.getExpectedStatus())
+                .expectedFile(metadata.getExpectedFile())
                 .body(body);
 
-        request = intercept(interceptors, mockMvc, request);
-        return executeRequest(request, parameter);
+        request = intercept(metadata.getInterceptors(), mockMvc, request);
+        return executeRequest(request, metadata.getParameterType());
+    }
+
+    protected RequestMetadata compile(HttpMethod method,
+                                      String path,
+                                      String[] headers,
+                                      String bodyFile,
+                                      HttpStatus status,
+                                      String expectedFile,
+                                      Class<? extends RequestInterceptor>[] interceptors,
+                                      ParameterContext parameter) {
+        return new RequestMetadata(
+                method,
+                path,
+                Collections.unmodifiableMap(parseHeaders(headers)),
+                StringUtils.trimToNull(bodyFile),
+                status,
+                StringUtils.trimToNull(expectedFile),
+                Stream.of(interceptors).map(AbstractMockMvcExtension::constructorOf).collect(toList()),
+                getResponseType(parameter),
+                parameter.getParameter().getType()
+        );
     }
 
     @SneakyThrows
-    private Request<Object> intercept(Class<? extends RequestInterceptor>[] interceptors,
+    private Request<Object> intercept(List<MethodHandle> interceptors,
                                       RecordoMockMvc mockMvc,
                                       Request<Object> request) {
-        for (Class<? extends RequestInterceptor> type : interceptors) {
-            final RequestInterceptor interceptor = type.getConstructor().newInstance();
+        for (MethodHandle constructor : interceptors) {
+            final RequestInterceptor interceptor = (RequestInterceptor) constructor.invoke();
             request = interceptor.intercept(request, mockMvc);
         }
         return request;
     }
 
+    @SneakyThrows
+    private static MethodHandle constructorOf(Class<? extends RequestInterceptor> type) {
+        final Constructor<? extends RequestInterceptor> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return MethodHandles.lookup().unreflectConstructor(constructor);
+    }
+
+    /**
+     * Resolved clients are cached:
+     * <ul>
+     * <li>per application context, in the test class store, when {@link MockMvc} and {@link ObjectMapper}
+     * are application context beans, so application contexts are not referenced after the test class is completed;</li>
+     * <li>per test, when the test class declares {@link EnableRecordo} annotated {@link MockMvc} or {@link ObjectMapper} fields.</li>
+     * </ul>
+     */
     protected RecordoMockMvc getMockMvcClient(ExtensionContext context) {
+        final Store rootStore = context.getRoot().getStore(NAMESPACE);
+        final Class<?> testClass = context.getRequiredTestClass();
+        final boolean withFields = rootStore.getOrComputeIfAbsent(
+                testClass,
+                type -> hasRecordoFields(context.getRequiredTestInstance()),
+                Boolean.class
+        );
+        return withFields
+                ? context.getStore(NAMESPACE).getOrComputeIfAbsent(RecordoMockMvc.class, type -> createMockMvcClient(context), RecordoMockMvc.class)
+                : classContext(context).getStore(NAMESPACE)
+                        .getOrComputeIfAbsent(getApplicationContext(context), key -> createMockMvcClient(context), RecordoMockMvc.class);
+    }
+
+    /**
+     * @return context of the innermost test class, whose store is closed when the test class is completed
+     */
+    private static ExtensionContext classContext(ExtensionContext context) {
+        ExtensionContext classContext = context;
+        while (classContext.getTestMethod().isPresent()) {
+            classContext = classContext.getParent().orElseThrow();
+        }
+        return classContext;
+    }
+
+    private RecordoMockMvc createMockMvcClient(ExtensionContext context) {
         final MockMvc mockMvc = findMockMvc(context)
                 .or(() -> findBean(context, MockMvc.class))
                 .orElseThrow();
@@ -99,8 +173,7 @@ public abstract class AbstractMockMvcExtension implements Extension, ParameterRe
         }
     }
 
-    private Object executeRequest(Request<Object> request, ParameterContext parameter) {
-        final Class<?> parameterClass = parameter.getParameter().getType();
+    private Object executeRequest(Request<Object> request, Class<?> parameterClass) {
         if (isWaitingForRequest(parameterClass)) {
             return request;
         } else if (isWaitingForResponse(parameterClass)) {
@@ -129,6 +202,12 @@ public abstract class AbstractMockMvcExtension implements Extension, ParameterRe
                 .map(MockMvc.class::cast);
     }
 
+    private boolean hasRecordoFields(Object testInstance) {
+        return Stream.of(MockMvc.class, ObjectMapper.class)
+                .anyMatch(type -> !reflect(testInstance).fieldsIncludingEnclosing()
+                        .withTypeAndAnnotation(type, EnableRecordo.class).isEmpty());
+    }
+
     private Map<String, String> parseHeaders(String[] headers) {
         final String separator = "=";
         return Stream.of(headers).collect(toMap(
@@ -18,17 +18,19 @@ public class DeleteExtension extends AbstractMockMvcExtension {
     @Override
     public Object resolveParameter(ParameterContext parameter,
                                    ExtensionContext extension) throws ParameterResolutionException {
-        final Delete annotation = parameter.findAnnotation(Delete.class).get();
-        return processRequest(
-                DELETE,
-                annotation.value(),
-                annotation.headers(),
-                null,
-                annotation.expectedStatus(),
-                annotation.interceptors(),
-                parameter,
-                extension
-        );
+        return processRequest(parameter, extension, () -> {
+            final Delete annotation = parameter.findAnnotation(Delete.class).get();
+            return compile(
+                    DELETE,
+                    annotation.value(),
+                    annotation.headers(),
+                    null,
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
     }
 
 }
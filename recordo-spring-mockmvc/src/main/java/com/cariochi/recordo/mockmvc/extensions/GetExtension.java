@@ -18,17 +18,19 @@ public class GetExtension extends AbstractMockMvcExtension {
     @Override
     public Object resolveParameter(ParameterContext parameter,
                                    ExtensionContext extension) throws ParameterResolutionException {
-        final Get annotation = parameter.findAnnotation(Get.class).get();
-        return processRequest(
-                GET,
-                annotation.value(),
-                annotation.headers(),
-                null,
-                annotation.expectedStatus(),
-                annotation.interceptors(),
-                parameter,
-                extension
-        );
+        return processRequest(parameter, extension, () -> {
+            final Get annotation = parameter.findAnnotation(Get.class).get();
+            return compile(
+                    GET,
+                    annotation.value(),
+                    annotation.headers(),
+                    null,
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
     }
 
 }
@@ -18,17 +18,19 @@ public class PatchExtension extends AbstractMockMvcExtension {
     @Override
     public Object resolveParameter(ParameterContext parameter,
                                    ExtensionContext extension) throws ParameterResolutionException {
-        final Patch annotation = parameter.findAnnotation(Patch.class).get();
-        return processRequest(
-                PATCH,
-                annotation.value(),
-                annotation.headers(),
-                annotation.body(),
-                annotation.expectedStatus(),
-                annotation.interceptors(),
-                parameter,
-                extension
-        );
+        return processRequest(parameter, extension, () -> {
+            final Patch annotation = parameter.findAnnotation(Patch.class).get();
+            return compile(
+                    PATCH,
+                    annotation.value(),
+                    annotation.headers(),
+                    annotation.body(),
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
     }
 
 }
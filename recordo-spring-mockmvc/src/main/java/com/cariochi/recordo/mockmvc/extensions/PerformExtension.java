@@ -16,16 +16,19 @@ public class PerformExtension extends AbstractMockMvcExtension {
     @Override
     public Object resolveParameter(ParameterContext parameter,
                                    ExtensionContext extension) throws ParameterResolutionException {
-        final Perform annotation = parameter.findAnnotation(Perform.class).get();
-        return processRequest(
-                annotation.method(),
-                annotation.path(),
-                annotation.headers(),
-                annotation.body(),
-                annotation.expectedStatus(),
-                annotation.interceptors(),
-                parameter,
-                extension);
+        return processRequest(parameter, extension, () -> {
+            final Perform annotation = parameter.findAnnotation(Perform.class).get();
+            return compile(
+                    annotation.method(),
+                    annotation.path(),
+                    annotation.headers(),
+                    annotation.body(),
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
     }
 
 }
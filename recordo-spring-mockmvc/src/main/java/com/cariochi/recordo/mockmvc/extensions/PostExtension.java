@@ -18,16 +18,19 @@ public class PostExtension extends AbstractMockMvcExtension {
     @Override
     public Object resolveParameter(ParameterContext parameter,
                                    ExtensionContext extension) throws ParameterResolutionException {
-        final Post annotation = parameter.findAnnotation(Post.class).get();
-        return processRequest(
-                POST,
-                annotation.value(),
-                annotation.headers(),
-                annotation.body(),
-                annotation.expectedStatus(),
-                annotation.interceptors(),
-                parameter,
-                extension);
+        return processRequest(parameter, extension, () -> {
+            final Post annotation = parameter.findAnnotation(Post.class).get();
+            return compile(
+                    POST,
+                    annotation.value(),
+                    annotation.headers(),
+                    annotation.body(),
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
     }
 
 }
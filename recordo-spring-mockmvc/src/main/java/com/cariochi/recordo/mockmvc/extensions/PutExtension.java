@@ -18,17 +18,19 @@ public class PutExtension extends AbstractMockMvcExtension {
     @Override
     public Object resolveParameter(ParameterContext parameter,
                                    ExtensionContext extension) throws ParameterResolutionException {
-        final Put annotation = parameter.findAnnotation(Put.class).get();
-        return processRequest(
-                PUT,
-                annotation.value(),
-                annotation.headers(),
-                annotation.body(),
-                annotation.expectedStatus(),
-                annotation.interceptors(),
-                parameter,
-                extension
-        );
+        return processRequest(parameter, extension, () -> {
+            final Put annotation = parameter.findAnnotation(Put.class).get();
+            return compile(
+                    PUT,
+                    annotation.value(),
+                    annotation.headers(),
+                    annotation.body(),
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
     }
 
 }
@@ -0,0 +1,28 @@
+package com.cariochi.recordo.mockmvc.extensions;
+
+import lombok.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request annotation of a parameter, with parsed headers, interceptor constructors and response type.
+ */
+@Value
+public class RequestMetadata {
+
+    HttpMethod method;
+    String path;
+    Map<String, String> headers;
+    String bodyFile;
+    HttpStatus expectedStatus;
+    String expectedFile;
+    List<MethodHandle> interceptors;
+    Type responseType;
+    Class<?> parameterType;
+
+}
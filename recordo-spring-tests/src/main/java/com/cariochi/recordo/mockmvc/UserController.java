@@ -3,12 +3,21 @@ package com.cariochi.recordo.mockmvc;
 import com.cariochi.recordo.mockmvc.dto.UserDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.*;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toList;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
 
 @Slf4j
 @RestController
@@ -61,6 +70,45 @@ public class UserController {
         return count == 0 ? Page.empty() : new SliceImpl<>(users, pageable, true);
     }
 
+    @GetMapping("/export")
+    public List<UserDto> export(@RequestParam(required = false, defaultValue = "2") int count) {
+        return IntStream.range(1, count + 1)
+                .mapToObj(i -> UserDto.builder().id(i).name("user_" + i).build())
+                .collect(toList());
+    }
+
+    @GetMapping("/export/stream")
+    public ResponseEntity<StreamingResponseBody> exportStream(@RequestParam(required = false, defaultValue = "2") int count) {
+        final StreamingResponseBody body = out -> {
+            out.write('[');
+            for (int i = 1; i <= count; i++) {
+                out.write(format("%s{\"id\":%d,\"name\":\"user_%d\"}", i > 1 ? "," : "", i, i).getBytes(UTF_8));
+            }
+            out.write(']');
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/events")
+    public SseEmitter events(@RequestParam(required = false, defaultValue = "2") int count) throws IOException {
+        final SseEmitter emitter = new SseEmitter();
+        for (int i = 1; i <= count; i++) {
+            emitter.send(UserDto.builder().id(i).name("user_" + i).build(), APPLICATION_JSON);
+        }
+        emitter.complete();
+        return emitter;
+    }
+
+    @PostMapping("/{id}/avatar")
+    public String uploadAvatar(@PathVariable int id, @RequestPart MultipartFile avatar) {
+        return format("%d: %s %s %d", id, avatar.getOriginalFilename(), avatar.getContentType(), avatar.getSize());
+    }
+
+    @PutMapping(value = "/{id}/avatar", consumes = APPLICATION_OCTET_STREAM_VALUE, produces = APPLICATION_OCTET_STREAM_VALUE)
+    public byte[] replaceAvatar(@PathVariable int id, @RequestBody byte[] avatar) {
+        return avatar;
+    }
+
     @DeleteMapping("/{id}")
     public void delete(@PathVariable int id) {
         log.info("User {} deleted", id);
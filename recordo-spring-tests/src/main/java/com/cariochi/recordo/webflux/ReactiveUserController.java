@@ -0,0 +1,52 @@
+package com.cariochi.recordo.webflux;
+
+import com.cariochi.recordo.mockmvc.dto.UserDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+@Slf4j
+@RestController
+@RequestMapping("/reactive/users")
+public class ReactiveUserController {
+
+    @PostMapping
+    public Mono<UserDto> create(@RequestBody Mono<UserDto> userDto) {
+        return userDto.doOnNext(user -> user.setId(1));
+    }
+
+    @PutMapping
+    public Mono<UserDto> update(@RequestBody Mono<UserDto> userDto) {
+        return userDto.doOnNext(user -> user.setName("Updated"));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<UserDto> getById(@PathVariable int id,
+                                 @RequestParam(value = "name", required = false) String name,
+                                 @RequestHeader(value = "locale", required = false) String locale
+    ) {
+        return Mono.just(UserDto.builder()
+                .id(id)
+                .name(name + " " + locale)
+                .build());
+    }
+
+    @GetMapping
+    public Flux<UserDto> findAll(@RequestParam(required = false, defaultValue = "2") int count) {
+        return Flux.range(1, count).map(i -> UserDto.builder().id(i).name("user_" + i).build());
+    }
+
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public Flux<UserDto> stream(@RequestParam(required = false, defaultValue = "2") int count) {
+        return findAll(count);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> delete(@PathVariable int id) {
+        return Mono.fromRunnable(() -> log.info("User {} deleted", id));
+    }
+
+}
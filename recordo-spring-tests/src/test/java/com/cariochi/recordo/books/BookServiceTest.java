@@ -4,7 +4,9 @@ import com.cariochi.recordo.books.dto.Author;
 import com.cariochi.recordo.books.dto.Book;
 import com.cariochi.recordo.core.RecordoExtension;
 import com.cariochi.recordo.read.Read;
+import com.cariochi.recordo.utils.ActualFiles;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,6 +32,11 @@ class BookServiceTest {
     @InjectMocks
     private BookService bookService;
 
+    @AfterAll
+    static void deleteActualFiles() {
+        ActualFiles.deleteIn("/books");
+    }
+
     @Test
     void should_get_book_by_id() {
         final Book actual = bookService.findById(1L);
@@ -0,0 +1,35 @@
+package com.cariochi.recordo.mockmvc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void should_record_small_values_exactly() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.rangeClosed(1, 100).forEach(histogram::record);
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.percentile(50)).isEqualTo(50);
+        assertThat(histogram.percentile(99)).isEqualTo(99);
+        assertThat(histogram.percentile(100)).isEqualTo(100);
+        assertThat(histogram.mean()).isEqualTo(50.5);
+    }
+
+    @Test
+    void should_report_percentiles_with_one_percent_precision() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.rangeClosed(1, 100_000).map(i -> i * 1_000).forEach(histogram::record);
+
+        assertThat((double) histogram.percentile(50)).isCloseTo(50_000_000, within(500_000.0));
+        assertThat((double) histogram.percentile(99)).isCloseTo(99_000_000, within(990_000.0));
+        assertThat((double) histogram.percentile(99.9)).isCloseTo(99_900_000, within(999_000.0));
+        assertThat(histogram.percentile(100)).isEqualTo(histogram.max()).isEqualTo(100_000_000);
+    }
+
+}
@@ -1,18 +1,46 @@
 package com.cariochi.recordo.mockmvc;
 
+import com.cariochi.recordo.core.RecordoError;
 import com.cariochi.recordo.core.RecordoExtension;
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
 import com.cariochi.recordo.mockmvc.dto.UserDto;
+import com.cariochi.recordo.mockmvc.extensions.AbstractMockMvcExtension;
+import com.cariochi.recordo.mockmvc.extensions.RequestMetadata;
 import com.cariochi.recordo.mockmvc.utils.Types;
 import com.cariochi.recordo.read.Read;
+import com.cariochi.recordo.utils.ActualFiles;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 import static com.cariochi.recordo.assertions.JsonAssertion.assertAsJson;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpStatus.OK;
 
@@ -21,6 +49,12 @@ import static org.springframework.http.HttpStatus.OK;
 @ExtendWith(RecordoExtension.class)
 class UserControllerTest {
 
+    @AfterAll
+    static void deleteActualFiles() {
+        ActualFiles.deleteIn("/mockmvc/benchmark");
+        ActualFiles.deleteIn("/mockmvc/expected_file");
+    }
+
     @Test
     void should_get_user_by_id_with_mock_mvc(RecordoMockMvc mockMvc) {
         final Response<UserDto> response = mockMvc.get("/users/{id}", UserDto.class)
@@ -33,6 +67,272 @@ class UserControllerTest {
         assertAsJson(response.getBody()).isEqualTo("/mockmvc/user.json");
     }
 
+    @Test
+    void should_compare_responses_regardless_of_duration(RecordoMockMvc mockMvc) {
+        final Response<UserDto> response = mockMvc.get("/users/{id}", UserDto.class).uriVars(1).perform();
+
+        assertThat(response.getDuration()).isPositive();
+        assertThat(response).isEqualTo(new Response<>(OK, response.getHeaders(), response.getBody()));
+    }
+
+    @Nested
+    @TestInstance(PER_CLASS)
+    @TestMethodOrder(OrderAnnotation.class)
+    class ClientReuse {
+
+        private RecordoMockMvc firstClient;
+
+        @Test
+        @Order(1)
+        void should_resolve_mock_mvc_client(RecordoMockMvc mockMvc) {
+            firstClient = mockMvc;
+        }
+
+        @Test
+        @Order(2)
+        void should_reuse_mock_mvc_client_in_next_test(RecordoMockMvc mockMvc) {
+            assertThat(mockMvc).isNotNull().isSameAs(firstClient);
+        }
+
+    }
+
+    @Nested
+    @TestInstance(PER_CLASS)
+    @TestMethodOrder(OrderAnnotation.class)
+    class MetadataCaching {
+
+        private final List<RequestMetadata> compiled = new ArrayList<>();
+
+        @RegisterExtension
+        final AfterEachCallback metadataCollector = context -> Stream.of(context.getRequiredTestMethod().getParameters())
+                .map(parameter -> context.getRoot().getStore(Namespace.create(AbstractMockMvcExtension.class)).get(parameter, RequestMetadata.class))
+                .forEach(compiled::add);
+
+        @Order(1)
+        @RepeatedTest(2)
+        void should_resolve_parameter(
+                @Get(value = "/users/1?name=Test User", interceptors = PrivateLocaleInterceptor.class) UserDto user
+        ) {
+            assertAsJson(user).isEqualTo("/mockmvc/user.json");
+        }
+
+        @Test
+        @Order(2)
+        void should_compile_metadata_once_per_parameter() {
+            assertThat(compiled).hasSize(2).doesNotContainNull();
+            assertThat(compiled.get(1)).isSameAs(compiled.get(0));
+        }
+
+    }
+
+    @Test
+    void should_perform_all(RecordoMockMvc mockMvc) {
+        final List<Request<UserDto>> requests = IntStream.rangeClosed(1, 20)
+                .mapToObj(id -> mockMvc.get("/users/{id}", UserDto.class).uriVars(id).expectedStatus(OK))
+                .collect(toList());
+
+        final Responses<UserDto> responses = mockMvc.performAll(requests, 4);
+
+        assertThat(responses.getBodies()).extracting(UserDto::getId).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 20).boxed().collect(toList())
+        );
+        assertThat(responses.latency(50)).isPositive().isLessThanOrEqualTo(responses.latency(99));
+        assertThat(responses.latency(100)).isLessThanOrEqualTo(responses.getElapsed());
+    }
+
+    @Test
+    void should_perform_async(RecordoMockMvc mockMvc) {
+        final Response<UserDto> response = mockMvc.get("/users/{id}", UserDto.class)
+                .uriVars(1)
+                .performAsync()
+                .join();
+
+        assertThat(response.getStatus()).isEqualTo(OK);
+        assertThat(response.getDuration()).isPositive();
+    }
+
+    @Test
+    void should_stream_items(RecordoMockMvc mockMvc) {
+        final Request<UserDto> request = mockMvc.get("/users/export", UserDto.class)
+                .param("count", "1000")
+                .expectedStatus(OK);
+
+        try (Stream<UserDto> users = request.performAndStream()) {
+            assertThat(users.mapToInt(UserDto::getId).sum()).isEqualTo(500_500);
+        }
+    }
+
+    @Test
+    void should_stream_async_response(RecordoMockMvc mockMvc) {
+        final Request<UserDto> request = mockMvc.get("/users/export/stream", UserDto.class)
+                .param("count", "1000")
+                .expectedStatus(OK);
+
+        try (Stream<UserDto> users = request.performAndStream()) {
+            assertThat(users.mapToInt(UserDto::getId).sum()).isEqualTo(500_500);
+        }
+    }
+
+    @Test
+    void should_receive_server_sent_events(RecordoMockMvc mockMvc) {
+        final Response<String> response = mockMvc.get("/users/events", String.class)
+                .expectedStatus(OK)
+                .perform();
+
+        assertThat(response.getBody())
+                .contains("data:{\"id\":1,\"name\":\"user_1\"}")
+                .contains("data:{\"id\":2,\"name\":\"user_2\"}");
+    }
+
+    @Test
+    void should_upload_multipart_file(RecordoMockMvc mockMvc) {
+        final Response<String> response = mockMvc.post("/users/{id}/avatar", String.class)
+                .uriVars(1)
+                .part("avatar", "/mockmvc/upload/avatar.txt")
+                .expectedStatus(OK)
+                .perform();
+
+        assertThat(response.getBody()).isEqualTo("1: avatar.txt text/plain 15");
+    }
+
+    @Test
+    void should_send_binary_body(RecordoMockMvc mockMvc) throws IOException {
+        final byte[] avatar = {(byte) 0x89, 'P', 'N', 'G', 0, 1, 2, (byte) 0xFF};
+
+        final Response<InputStream> response = mockMvc.put("/users/{id}/avatar", InputStream.class)
+                .uriVars(1)
+                .body(avatar)
+                .expectedStatus(OK)
+                .perform();
+
+        try (InputStream body = response.getBody()) {
+            assertThat(body.readAllBytes()).isEqualTo(avatar);
+        }
+    }
+
+    @Test
+    void should_record_and_replay_exchanges(RecordoMockMvc mockMvc) {
+        try (MockMvcExchanges exchanges = mockMvc.exchanges("/mockmvc/exchanges/users.json")) {
+            final RecordoMockMvc client = exchanges.client();
+            client.get("/users/{id}", UserDto.class).uriVars(1).param("name", "Test User").header("locale", "UA").perform();
+            client.post("/users", UserDto.class).body(UserDto.builder().name("New User").build()).perform();
+            client.get("/users", Types.pageOf(UserDto.class)).param("count", "3").perform();
+            client.delete("/users/1").perform();
+        }
+
+        mockMvc.exchanges("/mockmvc/exchanges/users.json").replay(2);
+    }
+
+    @Test
+    void should_record_exchanges_with_filtered_headers(RecordoMockMvc mockMvc) throws IOException {
+        final String fileName = "/mockmvc/exchanges/recorded_users.json";
+        try {
+            try (MockMvcExchanges exchanges = mockMvc.exchanges(fileName)) {
+                exchanges.client().get("/users/{id}", UserDto.class)
+                        .uriVars(1)
+                        .param("name", "Test User")
+                        .header("Authorization", "Bearer secret")
+                        .header("X-Request-Id", "42")
+                        .perform();
+            }
+            AsyncFileWriter.flush();
+
+            assertThat(Files.read(fileName))
+                    .contains("\"authorization\": \"********\"")
+                    .doesNotContain("secret")
+                    .doesNotContain("x-request-id")
+                    .contains("Test User");
+            mockMvc.exchanges(fileName).replay();
+        } finally {
+            java.nio.file.Files.deleteIfExists(Files.path(fileName));
+        }
+    }
+
+    @Test
+    void should_record_and_replay_binary_exchange(RecordoMockMvc mockMvc) throws IOException {
+        final String fileName = "/mockmvc/exchanges/binary_avatar.json";
+        final byte[] avatar = {(byte) 0x89, 'P', 'N', 'G', 0, 1, 2, (byte) 0xFF};
+        try {
+            try (MockMvcExchanges exchanges = mockMvc.exchanges(fileName)) {
+                exchanges.client().put("/users/{id}/avatar", byte[].class).uriVars(1).body(avatar).perform();
+            }
+            AsyncFileWriter.flush();
+
+            assertThat(Files.read(fileName))
+                    .contains("\"content-type\": \"application/octet-stream\"")
+                    .contains("\"body\": \"" + Base64.getEncoder().encodeToString(avatar) + "\"");
+            mockMvc.exchanges(fileName).replay();
+        } finally {
+            java.nio.file.Files.deleteIfExists(Files.path(fileName));
+        }
+    }
+
+    @Test
+    void should_reject_multipart_exchange(RecordoMockMvc mockMvc) {
+        final MockMvcExchanges exchanges = mockMvc.exchanges("/mockmvc/exchanges/multipart.json");
+        final Request<String> request = exchanges.client().post("/users/{id}/avatar", String.class)
+                .uriVars(1)
+                .part("avatar", "/mockmvc/upload/avatar.txt");
+
+        assertThatThrownBy(request::perform)
+                .isInstanceOf(RecordoError.class)
+                .hasMessage("Multipart request [POST] /users/{id}/avatar can't be recorded as an exchange");
+    }
+
+    @Test
+    void should_update_changed_exchanges(RecordoMockMvc mockMvc) throws IOException {
+        final String fileName = "/mockmvc/exchanges/updated_users.json";
+        Files.copy(Files.path("/mockmvc/exchanges/users_changed.json"), fileName);
+        SnapshotUpdates.enableInCurrentThread(true);
+        try {
+            mockMvc.exchanges(fileName).replay(2);
+            AsyncFileWriter.flush();
+
+            assertThat(Files.read(fileName)).doesNotContain("Changed User");
+        } finally {
+            SnapshotUpdates.resetInCurrentThread();
+            java.nio.file.Files.deleteIfExists(Files.path(fileName));
+        }
+    }
+
+    @Test
+    void should_fail_on_changed_exchanges(RecordoMockMvc mockMvc) {
+        final MockMvcExchanges exchanges = mockMvc.exchanges("/mockmvc/exchanges/users_changed.json");
+
+        assertThatThrownBy(() -> exchanges.replay(2))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("2 of 4 exchanges differ")
+                .hasMessageContaining("#2 [POST] /users")
+                .hasMessageContaining("#4 [DELETE] /users/1");
+    }
+
+    @Test
+    void should_benchmark(RecordoMockMvc mockMvc) {
+        final BenchmarkResult result = mockMvc.get("/users/{id}", UserDto.class)
+                .uriVars(1)
+                .benchmark()
+                .warmup(10)
+                .iterations(50)
+                .threads(2)
+                .verify("/mockmvc/benchmark/get_user.json");
+
+        assertThat(result.getIterations()).isEqualTo(50);
+        assertThat(result.getP99Ms()).isPositive().isLessThanOrEqualTo(result.getMaxMs());
+    }
+
+    @Test
+    void should_fail_on_p99_regression(RecordoMockMvc mockMvc) {
+        final Benchmark<UserDto> benchmark = mockMvc.get("/users/{id}", UserDto.class)
+                .uriVars(1)
+                .benchmark()
+                .warmup(10)
+                .iterations(50);
+
+        assertThatThrownBy(() -> benchmark.verify("/mockmvc/benchmark/get_user_regressed.json"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("p99 latency regressed by");
+    }
+
     @Test
     void should_get_user_by_id_with_perform(
             @Perform(method = GET, path = "/users/1?name=Test User", interceptors = LocaleInterceptor.class) Response<UserDto> response
@@ -40,6 +340,13 @@ class UserControllerTest {
         assertAsJson(response.getBody()).isEqualTo("/mockmvc/user.json");
     }
 
+    @Test
+    void should_get_user_by_id_with_private_interceptor(
+            @Get(value = "/users/1?name=Test User", interceptors = PrivateLocaleInterceptor.class) UserDto user
+    ) {
+        assertAsJson(user).isEqualTo("/mockmvc/user.json");
+    }
+
     @Test
     void should_get_user_by_id_with_get(
             @Get(value = "/users/1?name=Test User", headers = "locale=UA") Response<UserDto> response
@@ -54,6 +361,38 @@ class UserControllerTest {
         assertAsJson(user).isEqualTo("/mockmvc/user.json");
     }
 
+    @Test
+    void should_verify_response_with_expected_file(
+            @Get(value = "/users/1?name=Test User", headers = "locale=UA", expectedFile = "/mockmvc/user.json") Response<Void> response
+    ) {
+        assertThat(response.getStatus()).isEqualTo(OK);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void should_verify_request_with_expected_file(RecordoMockMvc mockMvc) {
+        final Request<UserDto> request = mockMvc.get("/users/{id}", UserDto.class)
+                .uriVars(1)
+                .param("name", "Test User")
+                .header("locale", "UA")
+                .expectedFile("/mockmvc/expected_file/user_ua.json");
+
+        assertThat(request.perform().getBody().getId()).isEqualTo(1);
+
+        request.header("locale", "EN");
+        assertThatThrownBy(request::perform).isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void should_verify_empty_body_with_expected_file(RecordoMockMvc mockMvc) {
+        final Response<Void> response = mockMvc.delete("/users/{id}")
+                .uriVars(1)
+                .expectedFile("/mockmvc/expected_file/empty_body.json")
+                .perform();
+
+        assertThat(response.getBody()).isNull();
+    }
+
     @Test
     void should_get_all_users_with_mock_mvc(RecordoMockMvc mockMvc) {
         final Request<Page<UserDto>> request = mockMvc.get("/users", Types.pageOf(UserDto.class));
@@ -171,4 +510,16 @@ class UserControllerTest {
 
     }
 
+    private static class PrivateLocaleInterceptor implements RequestInterceptor {
+
+        private PrivateLocaleInterceptor() {
+        }
+
+        @Override
+        public <T> Request<T> intercept(Request<T> request, RecordoMockMvc http) {
+            return request.header("locale", "UA");
+        }
+
+    }
+
 }
@@ -0,0 +1,35 @@
+package com.cariochi.recordo.utils;
+
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Cleans up {@code ACTUAL/} files written by tests of failing assertions, so the source tree stays clean.
+ */
+@UtilityClass
+public class ActualFiles {
+
+    @SneakyThrows
+    public void deleteIn(String folder) {
+        AsyncFileWriter.flush();
+        final Path actual = Files.path(folder).resolve("ACTUAL");
+        if (!java.nio.file.Files.exists(actual)) {
+            return;
+        }
+        try (Stream<Path> paths = java.nio.file.Files.walk(actual)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(ActualFiles::delete);
+        }
+    }
+
+    @SneakyThrows
+    private void delete(Path path) {
+        java.nio.file.Files.deleteIfExists(path);
+    }
+
+}
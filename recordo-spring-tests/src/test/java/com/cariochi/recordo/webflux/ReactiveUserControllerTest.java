@@ -0,0 +1,159 @@
+package com.cariochi.recordo.webflux;
+
+import com.cariochi.recordo.core.RecordoExtension;
+import com.cariochi.recordo.mockmvc.dto.UserDto;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.List;
+
+import static com.cariochi.recordo.assertions.JsonAssertion.assertAsJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.OK;
+
+@WebFluxTest(ReactiveUserController.class)
+@ExtendWith(RecordoExtension.class)
+class ReactiveUserControllerTest {
+
+    @Test
+    void should_get_user_by_id_with_web_test_client(RecordoWebTestClient client) {
+        final Response<UserDto> response = client.get("/reactive/users/{id}", UserDto.class)
+                .uriVars(1)
+                .param("name", "Test User")
+                .header("locale", "UA")
+                .expectedStatus(OK)
+                .perform();
+
+        assertThat(response.getDuration()).isPositive();
+        assertAsJson(response.getBody()).isEqualTo("/webflux/user.json");
+    }
+
+    @Nested
+    @TestInstance(PER_CLASS)
+    @TestMethodOrder(OrderAnnotation.class)
+    class ClientReuse {
+
+        private RecordoWebTestClient firstClient;
+
+        @Test
+        @Order(1)
+        void should_resolve_web_test_client(RecordoWebTestClient client) {
+            firstClient = client;
+        }
+
+        @Test
+        @Order(2)
+        void should_reuse_web_test_client_in_next_test(RecordoWebTestClient client) {
+            assertThat(client).isNotNull().isSameAs(firstClient);
+        }
+
+    }
+
+    @Test
+    void should_verify_response_with_expected_file(RecordoWebTestClient client) {
+        client.get("/reactive/users/1?name=Test User", Void.class)
+                .header("locale", "UA")
+                .expectedFile("/webflux/user.json")
+                .perform();
+    }
+
+    @Test
+    void should_verify_empty_body_with_expected_file(RecordoWebTestClient client) {
+        final Response<Void> response = client.delete("/reactive/users/{id}")
+                .uriVars(1)
+                .expectedFile("/webflux/empty_body.json")
+                .perform();
+
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void should_get_all_users(RecordoWebTestClient client) {
+        final List<UserDto> users = client.get("/reactive/users", new ParameterizedTypeReference<List<UserDto>>() {})
+                .param("count", "3")
+                .perform()
+                .getBody();
+
+        assertThat(users).extracting(UserDto::getId).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void should_stream_users(RecordoWebTestClient client) {
+        final Integer sum = client.get("/reactive/users", UserDto.class)
+                .param("count", "1000")
+                .expectedStatus(OK)
+                .performAndStream()
+                .map(UserDto::getId)
+                .reduce(0, Integer::sum)
+                .block();
+
+        assertThat(sum).isEqualTo(500_500);
+    }
+
+    @Test
+    void should_stream_users_with_backpressure(RecordoWebTestClient client) {
+        final List<UserDto> users = client.get("/reactive/users/stream", UserDto.class)
+                .param("count", "1000")
+                .performAndStream()
+                .limitRate(10)
+                .take(25)
+                .collectList()
+                .block();
+
+        assertThat(users).hasSize(25).last().extracting(UserDto::getId).isEqualTo(25);
+    }
+
+    @Test
+    void should_get_user_by_id_with_perform(
+            @Perform(method = GET, path = "/reactive/users/1?name=Test User", interceptors = LocaleInterceptor.class) Response<UserDto> response
+    ) {
+        assertAsJson(response.getBody()).isEqualTo("/webflux/user.json");
+    }
+
+    @Test
+    void should_get_user_by_id_with_get(
+            @Get(value = "/reactive/users/1?name=Test User", headers = "locale=UA") UserDto user
+    ) {
+        assertAsJson(user).isEqualTo("/webflux/user.json");
+    }
+
+    @Test
+    void should_create_user(
+            @Post(value = "/reactive/users", body = "/webflux/new_user.json") Response<UserDto> response
+    ) {
+        assertAsJson(response.getBody()).isEqualTo("/webflux/created_user.json");
+    }
+
+    @Test
+    void should_update_user(
+            @Put(value = "/reactive/users", body = "/webflux/user.json", expectedFile = "/webflux/updated_user.json") UserDto user
+    ) {
+        assertThat(user.getName()).isEqualTo("Updated");
+    }
+
+    @Test
+    void should_delete_user_by_id(
+            @Delete("/reactive/users/{id}") Request<Void> request
+    ) {
+        request.uriVars(1).perform();
+    }
+
+    public static class LocaleInterceptor implements RequestInterceptor {
+
+        @Override
+        public <T> Request<T> intercept(Request<T> request, RecordoWebTestClient http) {
+            return request.header("locale", "UA");
+        }
+
+    }
+
+}
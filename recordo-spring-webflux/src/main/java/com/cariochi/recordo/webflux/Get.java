@@ -0,0 +1,27 @@
+package com.cariochi.recordo.webflux;
+
+import org.springframework.http.HttpStatus;
+
+import java.lang.annotation.*;
+
+import static org.springframework.http.HttpStatus.OK;
+
+@Target({ElementType.PARAMETER, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface Get {
+
+    String value();
+
+    String[] headers() default {};
+
+    HttpStatus expectedStatus() default OK;
+
+    /**
+     * JSON file the raw response body is verified against, without deserializing it.
+     */
+    String expectedFile() default "";
+
+    Class<? extends RequestInterceptor>[] interceptors() default {};
+
+}
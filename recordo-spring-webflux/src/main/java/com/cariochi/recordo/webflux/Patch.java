@@ -0,0 +1,28 @@
+package com.cariochi.recordo.webflux;
+
+import org.springframework.http.HttpStatus;
+
+import java.lang.annotation.*;
+
+import static org.springframework.http.HttpStatus.OK;
+
+@Target({ElementType.PARAMETER, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface Patch {
+
+    String value();
+
+    String[] headers() default {};
+
+    String body() default "";
+
+    HttpStatus expectedStatus() default OK;
+
+    /**
+     * JSON file the raw response body is verified against, without deserializing it.
+     */
+    String expectedFile() default "";
+
+    Class<? extends RequestInterceptor>[] interceptors() default {};
+}
@@ -0,0 +1,191 @@
+package com.cariochi.recordo.webflux;
+
+import com.cariochi.recordo.assertions.JsonAssertion;
+import com.cariochi.recordo.core.json.RawJson;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.reactive.server.WebTestClient.RequestBodySpec;
+import org.springframework.test.web.reactive.server.WebTestClient.ResponseSpec;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toMap;
+import static org.apache.commons.lang3.StringUtils.substringAfter;
+import static org.apache.commons.lang3.StringUtils.substringBefore;
+import static org.springframework.http.HttpMethod.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
+
+/**
+ * Reactive counterpart of {@code RecordoMockMvc}, on top of {@link WebTestClient}.
+ * Request and response bodies are encoded and decoded with the codecs the client is configured with.
+ */
+@RequiredArgsConstructor
+public class RecordoWebTestClient {
+
+    private static final byte[] EMPTY = {};
+
+    private final WebTestClient webTestClient;
+
+    // Request
+
+    public <RESP> Request<RESP> request(HttpMethod method, String path, Type responseType) {
+        return new Request<>(this, method, path, responseType);
+    }
+
+    public <RESP> Request<RESP> request(HttpMethod method, String path, Class<RESP> responseType) {
+        return request(method, path, (Type) responseType);
+    }
+
+    public <RESP> Request<RESP> request(HttpMethod method, String path, ParameterizedTypeReference<RESP> responseType) {
+        return request(method, path, responseType.getType());
+    }
+
+    // GET
+
+    public <RESP> Request<RESP> get(String path, Type responseType) {
+        return request(GET, path, responseType);
+    }
+
+    public <RESP> Request<RESP> get(String path, Class<RESP> responseType) {
+        return request(GET, path, responseType);
+    }
+
+    public <RESP> Request<RESP> get(String path, ParameterizedTypeReference<RESP> responseType) {
+        return request(GET, path, responseType);
+    }
+
+    // POST
+
+    public <RESP> Request<RESP> post(String path, Type responseType) {
+        return request(POST, path, responseType);
+    }
+
+    public <RESP> Request<RESP> post(String path, Class<RESP> responseType) {
+        return request(POST, path, responseType);
+    }
+
+    public <RESP> Request<RESP> post(String path, ParameterizedTypeReference<RESP> responseType) {
+        return request(POST, path, responseType);
+    }
+
+    // PUT
+
+    public <RESP> Request<RESP> put(String path, Type responseType) {
+        return request(PUT, path, responseType);
+    }
+
+    public <RESP> Request<RESP> put(String path, Class<RESP> responseType) {
+        return request(PUT, path, responseType);
+    }
+
+    public <RESP> Request<RESP> put(String path, ParameterizedTypeReference<RESP> responseType) {
+        return request(PUT, path, responseType);
+    }
+
+    // PATCH
+
+    public <RESP> Request<RESP> patch(String path, Type responseType) {
+        return request(PATCH, path, responseType);
+    }
+
+    public <RESP> Request<RESP> patch(String path, Class<RESP> responseType) {
+        return request(PATCH, path, responseType);
+    }
+
+    public <RESP> Request<RESP> patch(String path, ParameterizedTypeReference<RESP> responseType) {
+        return request(PATCH, path, responseType);
+    }
+
+    // DELETE
+
+    public <RESP> Request<RESP> delete(String path, Type responseType) {
+        return request(DELETE, path, responseType);
+    }
+
+    public <RESP> Request<RESP> delete(String path, Class<RESP> responseType) {
+        return request(DELETE, path, responseType);
+    }
+
+    public <RESP> Request<RESP> delete(String path, ParameterizedTypeReference<RESP> responseType) {
+        return request(DELETE, path, responseType);
+    }
+
+    public Request<Void> delete(String path) {
+        return request(DELETE, path, Void.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <RESP> Response<RESP> perform(Request<RESP> request) {
+        final long start = System.nanoTime();
+        final ResponseSpec responseSpec = exchange(request);
+        final boolean withoutBody = Void.class.equals(request.responseType());
+        final EntityExchangeResult<?> result = withoutBody
+                ? responseSpec.expectBody().returnResult()
+                : responseSpec.expectBody(ParameterizedTypeReference.forType(request.responseType())).returnResult();
+        final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+        if (request.expectedFile() != null) {
+            final byte[] content = Optional.ofNullable(result.getResponseBodyContent()).orElse(EMPTY);
+            JsonAssertion.assertAsJson(RawJson.of(content)).isEqualTo(request.expectedFile());
+        }
+
+        return Response.<RESP>builder()
+                .status(result.getStatus())
+                .headers(headersOf(result.getResponseHeaders()))
+                .body(withoutBody ? null : (RESP) result.getResponseBody())
+                .duration(duration)
+                .build();
+    }
+
+    /**
+     * Streams the response body as it is decoded, item by item, without collecting it.
+     * The response type of the request is the type of the items,
+     * e.g. of a JSON array, {@code application/x-ndjson} or {@code text/event-stream} response.
+     */
+    public <RESP> Flux<RESP> performAndStream(Request<RESP> request) {
+        return exchange(request)
+                .returnResult(ParameterizedTypeReference.<RESP>forType(request.responseType()))
+                .getResponseBody();
+    }
+
+    private ResponseSpec exchange(Request<?> request) {
+        final RequestBodySpec requestSpec = webTestClient.method(request.method())
+                .uri(uriBuilder -> uriBuilder
+                        .path(substringBefore(request.path(), "?"))
+                        .query(substringAfter(request.path(), "?"))
+                        .queryParams(request.params())
+                        .build(request.uriVars()));
+
+        if (request.body() instanceof byte[]) {
+            requestSpec.contentType(Optional.ofNullable(request.contentType()).orElse(APPLICATION_OCTET_STREAM));
+            requestSpec.bodyValue(request.body());
+        } else if (request.body() != null) {
+            requestSpec.contentType(Optional.ofNullable(request.contentType()).orElse(APPLICATION_JSON));
+            requestSpec.bodyValue(request.body());
+        }
+
+        request.headers().forEach(requestSpec::header);
+
+        final ResponseSpec responseSpec = requestSpec.exchange();
+
+        Optional.ofNullable(request.expectedStatus())
+                .ifPresent(expectedStatus -> responseSpec.expectStatus().isEqualTo(expectedStatus));
+
+        return responseSpec;
+    }
+
+    private static Map<String, String> headersOf(HttpHeaders headers) {
+        return headers.entrySet().stream()
+                .collect(toMap(Map.Entry::getKey, e -> String.join(", ", e.getValue())));
+    }
+
+}
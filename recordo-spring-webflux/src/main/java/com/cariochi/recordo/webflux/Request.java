@@ -0,0 +1,103 @@
+package com.cariochi.recordo.webflux;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static lombok.AccessLevel.NONE;
+import static org.apache.commons.lang3.ArrayUtils.addFirst;
+
+@Data
+@Accessors(fluent = true)
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class Request<RESP> {
+
+    private final RecordoWebTestClient client;
+    private final HttpMethod method;
+    private final String path;
+    private final Type responseType;
+
+    @Setter(NONE)
+    private Map<String, String> headers = new LinkedHashMap<>();
+
+    @Setter(NONE)
+    private Object[] uriVars = {};
+
+    @Setter(NONE)
+    private MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+
+    /**
+     * Request body, encoded with the application codecs.
+     */
+    private Object body;
+
+    /**
+     * Content type of the body: {@code application/json} by default, {@code application/octet-stream} for a byte array.
+     */
+    private MediaType contentType;
+
+    private HttpStatus expectedStatus;
+
+    /**
+     * JSON file the raw response body is verified against.
+     * The body is not decoded for the {@link Void} response type.
+     */
+    private String expectedFile;
+
+    public Response<RESP> perform() {
+        return client.perform(this);
+    }
+
+    /**
+     * Streams the decoded response body, with {@code responseType} as the type of the items.
+     */
+    public Flux<RESP> performAndStream() {
+        return client.performAndStream(this);
+    }
+
+    public Request<RESP> headers(Map<String, String> headers) {
+        this.headers.clear();
+        this.headers.putAll(headers);
+        return this;
+    }
+
+    public Request<RESP> header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public Request<RESP> uriVars(Object pathVar, Object... pathVars) {
+        uriVars = addFirst(pathVars, pathVar);
+        return this;
+    }
+
+    public Request<RESP> params(MultiValueMap<String, String> params) {
+        params.forEach(this::addToParams);
+        return this;
+    }
+
+    public Request<RESP> param(String name, String... values) {
+        addToParams(name, asList(values));
+        return this;
+    }
+
+    private void addToParams(String name, List<String> values) {
+        values.forEach(value -> params.add(name, value));
+    }
+
+}
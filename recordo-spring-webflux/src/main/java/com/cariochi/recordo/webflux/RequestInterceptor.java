@@ -0,0 +1,7 @@
+package com.cariochi.recordo.webflux;
+
+public interface RequestInterceptor {
+
+    <T> Request<T> intercept(Request<T> request, RecordoWebTestClient http);
+
+}
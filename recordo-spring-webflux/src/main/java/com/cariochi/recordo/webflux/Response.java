@@ -0,0 +1,37 @@
+package com.cariochi.recordo.webflux;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Response<T> {
+
+    private HttpStatus status;
+    @Builder.Default
+    private Map<String, String> headers = new LinkedHashMap<>();
+    private T body;
+
+    /**
+     * Time spent by {@link org.springframework.test.web.reactive.server.WebTestClient} to exchange the request
+     * and decode the response body.
+     * It is not compared by {@link #equals(Object)}.
+     */
+    @EqualsAndHashCode.Exclude
+    private Duration duration;
+
+    public Response(HttpStatus status, Map<String, String> headers, T body) {
+        this(status, headers, body, null);
+    }
+
+}
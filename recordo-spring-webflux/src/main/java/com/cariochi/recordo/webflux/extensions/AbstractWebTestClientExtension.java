@@ -0,0 +1,216 @@
+package com.cariochi.recordo.webflux.extensions;
+
+import com.cariochi.recordo.core.EnableRecordo;
+import com.cariochi.recordo.core.Extension;
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.FileCache;
+import com.cariochi.recordo.core.utils.ObjectReader;
+import com.cariochi.recordo.webflux.RecordoWebTestClient;
+import com.cariochi.recordo.webflux.Request;
+import com.cariochi.recordo.webflux.RequestInterceptor;
+import com.cariochi.recordo.webflux.Response;
+import com.cariochi.reflecto.fields.JavaField;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.beans.BeansException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.cariochi.recordo.core.json.JsonConverters.getJsonConverter;
+import static com.cariochi.reflecto.Reflecto.reflect;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.apache.commons.lang3.StringUtils.substringAfter;
+import static org.apache.commons.lang3.StringUtils.substringBefore;
+import static org.springframework.test.context.junit.jupiter.SpringExtension.getApplicationContext;
+
+public abstract class AbstractWebTestClientExtension implements Extension, ParameterResolver {
+
+    private static final Namespace NAMESPACE = Namespace.create(AbstractWebTestClientExtension.class);
+
+    private static final FileCache<String> BODIES = new FileCache<>();
+
+    /**
+     * Request metadata is compiled once per parameter, and cached in the root store.
+     */
+    protected Object processRequest(ParameterContext parameter,
+                                    ExtensionContext extension,
+                                    Supplier<RequestMetadata> compiler) {
+
+        final RequestMetadata metadata = extension.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(parameter.getParameter(), p -> compiler.get(), RequestMetadata.class);
+
+        final String body = Optional.ofNullable(metadata.getBodyFile())
+                .map(file -> BODIES.get(file, f -> getBodyFromFile(f, extension.getRequiredTestInstance())))
+                .orElse(null);
+
+        final RecordoWebTestClient client = getWebTestClient(extension);
+
+        Request<Object> request = client
+                .request(metadata.getMethod(), metadata.getPath(), metadata.getResponseType())
+                .headers(metadata.getHeaders())
+                .expectedStatus(metadata.getExpectedStatus())
+                .expectedFile(metadata.getExpectedFile())
+                .body(body);
+
+        request = intercept(metadata.getInterceptors(), client, request);
+        return executeRequest(request, metadata.getParameterType());
+    }
+
+    protected RequestMetadata compile(HttpMethod method,
+                                      String path,
+                                      String[] headers,
+                                      String bodyFile,
+                                      HttpStatus status,
+                                      String expectedFile,
+                                      Class<? extends RequestInterceptor>[] interceptors,
+                                      ParameterContext parameter) {
+        return new RequestMetadata(
+                method,
+                path,
+                Collections.unmodifiableMap(parseHeaders(headers)),
+                StringUtils.trimToNull(bodyFile),
+                status,
+                StringUtils.trimToNull(expectedFile),
+                Stream.of(interceptors).map(AbstractWebTestClientExtension::constructorOf).collect(toList()),
+                getResponseType(parameter),
+                parameter.getParameter().getType()
+        );
+    }
+
+    @SneakyThrows
+    private Request<Object> intercept(List<MethodHandle> interceptors,
+                                      RecordoWebTestClient client,
+                                      Request<Object> request) {
+        for (MethodHandle constructor : interceptors) {
+            final RequestInterceptor interceptor = (RequestInterceptor) constructor.invoke();
+            request = interceptor.intercept(request, client);
+        }
+        return request;
+    }
+
+    @SneakyThrows
+    private static MethodHandle constructorOf(Class<? extends RequestInterceptor> type) {
+        final Constructor<? extends RequestInterceptor> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return MethodHandles.lookup().unreflectConstructor(constructor);
+    }
+
+    /**
+     * Resolved clients are cached:
+     * <ul>
+     * <li>per application context, in the test class store, when {@link WebTestClient} is an application context bean,
+     * so application contexts are not referenced after the test class is completed;</li>
+     * <li>per test, when the test class declares an {@link EnableRecordo} annotated {@link WebTestClient} field.</li>
+     * </ul>
+     */
+    protected RecordoWebTestClient getWebTestClient(ExtensionContext context) {
+        final Store rootStore = context.getRoot().getStore(NAMESPACE);
+        final Class<?> testClass = context.getRequiredTestClass();
+        final boolean withField = rootStore.getOrComputeIfAbsent(
+                testClass,
+                type -> findWebTestClient(context).isPresent(),
+                Boolean.class
+        );
+        return withField
+                ? context.getStore(NAMESPACE).getOrComputeIfAbsent(RecordoWebTestClient.class, type -> createWebTestClient(context), RecordoWebTestClient.class)
+                : classContext(context).getStore(NAMESPACE)
+                        .getOrComputeIfAbsent(getApplicationContext(context), key -> createWebTestClient(context), RecordoWebTestClient.class);
+    }
+
+    /**
+     * @return context of the innermost test class, whose store is closed when the test class is completed
+     */
+    private static ExtensionContext classContext(ExtensionContext context) {
+        ExtensionContext classContext = context;
+        while (classContext.getTestMethod().isPresent()) {
+            classContext = classContext.getParent().orElseThrow();
+        }
+        return classContext;
+    }
+
+    private RecordoWebTestClient createWebTestClient(ExtensionContext context) {
+        final WebTestClient webTestClient = findWebTestClient(context)
+                .or(() -> findBean(context, WebTestClient.class))
+                .orElseThrow();
+        return new RecordoWebTestClient(webTestClient);
+    }
+
+    public String getBodyFromFile(String bodyFile, Object testInstance) {
+        final JsonConverter jsonConverter = getJsonConverter(testInstance);
+        final ObjectReader objectReader = new ObjectReader(jsonConverter);
+        return (String) objectReader.read(bodyFile, String.class);
+    }
+
+    private <T> Optional<T> findBean(ExtensionContext extensionContext, Class<T> beanClass) {
+        try {
+            return Optional.of(getApplicationContext(extensionContext).getBean(beanClass));
+        } catch (BeansException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Object executeRequest(Request<Object> request, Class<?> parameterClass) {
+        if (isWaitingForRequest(parameterClass)) {
+            return request;
+        } else if (isWaitingForResponse(parameterClass)) {
+            return request.perform();
+        } else {
+            return request.perform().getBody();
+        }
+    }
+
+    private Type getResponseType(ParameterContext parameter) {
+        final Class<?> parameterClass = parameter.getParameter().getType();
+        final Type parameterType = parameter.getParameter().getParameterizedType();
+        if (isWaitingForRequest(parameterClass)) {
+            return ((ParameterizedType) parameterType).getActualTypeArguments()[0];
+        } else if (isWaitingForResponse(parameterClass)) {
+            return ((ParameterizedType) parameterType).getActualTypeArguments()[0];
+        } else {
+            return parameterType;
+        }
+    }
+
+    private Optional<WebTestClient> findWebTestClient(ExtensionContext context) {
+        return reflect(context.getRequiredTestInstance()).fieldsIncludingEnclosing()
+                .withTypeAndAnnotation(WebTestClient.class, EnableRecordo.class).stream().findAny()
+                .map(JavaField::getValue)
+                .map(WebTestClient.class::cast);
+    }
+
+    private Map<String, String> parseHeaders(String[] headers) {
+        final String separator = "=";
+        return Stream.of(headers).collect(toMap(
+                h -> substringBefore(h, separator).trim(),
+                h -> substringAfter(h, separator).trim()
+        ));
+    }
+
+    private boolean isWaitingForRequest(Class<?> type) {
+        return Request.class.isAssignableFrom(type);
+    }
+
+    private boolean isWaitingForResponse(Class<?> type) {
+        return Response.class.isAssignableFrom(type);
+    }
+
+}
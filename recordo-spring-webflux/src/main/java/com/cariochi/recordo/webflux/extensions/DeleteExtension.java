@@ -0,0 +1,36 @@
+package com.cariochi.recordo.webflux.extensions;
+
+import com.cariochi.recordo.webflux.Delete;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+import static org.springframework.http.HttpMethod.DELETE;
+
+public class DeleteExtension extends AbstractWebTestClientExtension {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext,
+                                     ExtensionContext extensionContext) throws ParameterResolutionException {
+        return parameterContext.isAnnotated(Delete.class);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameter,
+                                   ExtensionContext extension) throws ParameterResolutionException {
+        return processRequest(parameter, extension, () -> {
+            final Delete annotation = parameter.findAnnotation(Delete.class).get();
+            return compile(
+                    DELETE,
+                    annotation.value(),
+                    annotation.headers(),
+                    null,
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.cariochi.recordo.webflux.extensions;
+
+import com.cariochi.recordo.webflux.Get;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+import static org.springframework.http.HttpMethod.GET;
+
+public class GetExtension extends AbstractWebTestClientExtension {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameter,
+                                     ExtensionContext extension) throws ParameterResolutionException {
+        return parameter.isAnnotated(Get.class);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameter,
+                                   ExtensionContext extension) throws ParameterResolutionException {
+        return processRequest(parameter, extension, () -> {
+            final Get annotation = parameter.findAnnotation(Get.class).get();
+            return compile(
+                    GET,
+                    annotation.value(),
+                    annotation.headers(),
+                    null,
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
+    }
+
+}
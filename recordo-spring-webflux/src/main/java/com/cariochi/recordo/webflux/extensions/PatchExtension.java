@@ -0,0 +1,36 @@
+package com.cariochi.recordo.webflux.extensions;
+
+import com.cariochi.recordo.webflux.Patch;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+import static org.springframework.http.HttpMethod.PATCH;
+
+public class PatchExtension extends AbstractWebTestClientExtension {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext,
+                                     ExtensionContext extensionContext) throws ParameterResolutionException {
+        return parameterContext.isAnnotated(Patch.class);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameter,
+                                   ExtensionContext extension) throws ParameterResolutionException {
+        return processRequest(parameter, extension, () -> {
+            final Patch annotation = parameter.findAnnotation(Patch.class).get();
+            return compile(
+                    PATCH,
+                    annotation.value(),
+                    annotation.headers(),
+                    annotation.body(),
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
+    }
+
+}
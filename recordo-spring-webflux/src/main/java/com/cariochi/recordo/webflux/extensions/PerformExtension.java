@@ -0,0 +1,34 @@
+package com.cariochi.recordo.webflux.extensions;
+
+import com.cariochi.recordo.webflux.Perform;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+public class PerformExtension extends AbstractWebTestClientExtension {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext,
+                                     ExtensionContext extensionContext) throws ParameterResolutionException {
+        return parameterContext.isAnnotated(Perform.class);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameter,
+                                   ExtensionContext extension) throws ParameterResolutionException {
+        return processRequest(parameter, extension, () -> {
+            final Perform annotation = parameter.findAnnotation(Perform.class).get();
+            return compile(
+                    annotation.method(),
+                    annotation.path(),
+                    annotation.headers(),
+                    annotation.body(),
+                    annotation.expectedStatus(),
+                    annotation.expectedFile(),
+                    annotation.interceptors(),
+                    parameter
+            );
+        });
+    }
+
+}
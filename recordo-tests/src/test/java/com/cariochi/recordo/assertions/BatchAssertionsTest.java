@@ -0,0 +1,103 @@
+package com.cariochi.recordo.assertions;
+
+import com.cariochi.recordo.main.dto.TestDto;
+import com.cariochi.recordo.utils.ActualFiles;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static com.cariochi.recordo.assertions.BatchAssertions.assertAll;
+import static com.cariochi.recordo.assertions.CsvAssertion.assertCsv;
+import static com.cariochi.recordo.assertions.JsonAssertion.assertAsJson;
+import static com.cariochi.recordo.assertions.JsonBatchAssertion.assertAllAsJson;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class BatchAssertionsTest {
+
+    @AfterAll
+    static void deleteActualFiles() {
+        ActualFiles.deleteIn("/verify_annotation_test");
+    }
+
+    @Test
+    void ok() {
+        assertAll(
+                () -> assertAsJson(testDto(1)).isEqualTo("/verify_annotation_test/dto.json"),
+                () -> assertCsv("id,text\n1,one\n2,two").withHeaders(true).isEqualsTo("/csv/ordered.csv")
+        );
+    }
+
+    @Test
+    void should_report_all_failures() {
+        final Map<String, TestDto> actual = new LinkedHashMap<>();
+        actual.put("/verify_annotation_test/list.json", testDto(1));
+        actual.put("/verify_annotation_test/short_dto.json", testDto(1));
+        actual.put("/verify_annotation_test/dto.json", testDto(9));
+
+        assertThatThrownBy(() -> assertAllAsJson(actual).extensible(true).areEqualToFiles())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("2 of 3 assertions failed")
+                .hasMessageNotContaining("/short_dto.json")
+                .satisfies(e -> assertThat(e.getMessage().indexOf("/verify_annotation_test/dto.json:\n"))
+                        .isPositive()
+                        .isLessThan(e.getMessage().indexOf("/verify_annotation_test/list.json:\n")));
+    }
+
+    @Test
+    void should_collect_exceptions() {
+        assertThatThrownBy(() -> assertAll(
+                () -> {
+                    throw new IllegalStateException("Unexpected state");
+                },
+                () -> {
+                    throw new AssertionError("Unexpected value");
+                },
+                () -> {}
+        ))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("2 of 3 assertions failed")
+                .hasMessageContaining("Unexpected state")
+                .hasMessageContaining("Unexpected value");
+    }
+
+    @Test
+    void should_rethrow_virtual_machine_error_immediately() {
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertTimeoutPreemptively(ofSeconds(5), () ->
+                    assertThatThrownBy(() -> assertAll(
+                            () -> {
+                                throw new OutOfMemoryError("Out of memory");
+                            },
+                            () -> await(release)
+                    ))
+                            .isInstanceOf(OutOfMemoryError.class)
+                            .hasMessage("Out of memory")
+            );
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TestDto testDto(int id) {
+        return TestDto.dto(id)
+                .withChild(TestDto.dto(id + 1))
+                .withChild(TestDto.dto(id + 2));
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.cariochi.recordo.assertions;
 
+import com.cariochi.recordo.utils.ActualFiles;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 
 import static com.cariochi.recordo.assertions.CsvAssertion.assertCsv;
@@ -8,6 +10,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class CsvAssertionTest {
 
     private static final String ACTUAL_CSV = "id,text\n1,one\n2,two";
+    private static final String ACTUAL_KEYED_CSV = "id,text,updated\n1,one,2022-01-01\n2,two,2022-01-01";
+
+    @AfterAll
+    static void deleteActualFiles() {
+        ActualFiles.deleteIn("/csv");
+    }
 
     @Test
     void ok_with_headers_without_strict_order() {
@@ -80,4 +88,108 @@ class CsvAssertionTest {
         ).isInstanceOf(AssertionError.class);
     }
 
+    @Test
+    void error_with_headers_duplicated_rows() {
+        assertThatThrownBy(() ->
+                assertCsv(ACTUAL_CSV)
+                        .withHeaders(true)
+                        .withStrictOrder(false)
+                        .isEqualsTo("/csv/duplicated_rows.csv")
+        )
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Missing rows (1)");
+    }
+
+    @Test
+    void ok_with_key_columns_excluding() {
+        assertCsv(ACTUAL_KEYED_CSV)
+                .withHeaders(true)
+                .withKeyColumns("id")
+                .excluding("updated")
+                .isEqualsTo("/csv/keyed.csv");
+    }
+
+    @Test
+    void ok_with_key_columns_including() {
+        assertCsv(ACTUAL_KEYED_CSV)
+                .withHeaders(true)
+                .withKeyColumns("id")
+                .including("id", "text")
+                .isEqualsTo("/csv/keyed.csv");
+    }
+
+    @Test
+    void ok_with_key_columns_not_included() {
+        assertCsv(ACTUAL_KEYED_CSV)
+                .withHeaders(true)
+                .withKeyColumns("id")
+                .including("text")
+                .isEqualsTo("/csv/keyed.csv");
+    }
+
+    @Test
+    void ok_with_key_columns_excluded() {
+        assertCsv(ACTUAL_KEYED_CSV)
+                .withHeaders(true)
+                .withKeyColumns("id")
+                .excluding("id", "updated")
+                .isEqualsTo("/csv/keyed.csv");
+    }
+
+    @Test
+    void error_with_key_columns_not_included() {
+        assertThatThrownBy(() ->
+                assertCsv(ACTUAL_KEYED_CSV)
+                        .withHeaders(true)
+                        .withKeyColumns("id")
+                        .including("text")
+                        .isEqualsTo("/csv/keyed_changed.csv")
+        )
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Missing rows (1):\n  [3]: {text=three}")
+                .hasMessageContaining("Unexpected rows (1):\n  [1]: {text=one}")
+                .hasMessageContaining("Changed rows (1):\n  [2]: text: deux -> two");
+    }
+
+    @Test
+    void error_with_key_columns() {
+        assertThatThrownBy(() ->
+                assertCsv(ACTUAL_KEYED_CSV)
+                        .withHeaders(true)
+                        .withKeyColumns("id")
+                        .excluding("updated")
+                        .isEqualsTo("/csv/keyed_changed.csv")
+        )
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Missing rows (1):\n  [3]: {id=3, text=three}")
+                .hasMessageContaining("Unexpected rows (1):\n  [1]: {id=1, text=one}")
+                .hasMessageContaining("Changed rows (1):\n  [2]: text: deux -> two");
+    }
+
+    @Test
+    void error_with_duplicated_expected_keys() {
+        assertThatThrownBy(() ->
+                assertCsv(ACTUAL_KEYED_CSV)
+                        .withHeaders(true)
+                        .withKeyColumns("id")
+                        .excluding("updated")
+                        .isEqualsTo("/csv/keyed_duplicated.csv")
+        )
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("CSV rows differ\nDuplicated expected keys (1):\n  [1]: {id=1, text=uno}");
+    }
+
+    @Test
+    void error_with_max_reported_differences() {
+        assertThatThrownBy(() ->
+                assertCsv(ACTUAL_KEYED_CSV)
+                        .withHeaders(true)
+                        .withStrictOrder(true)
+                        .withMaxReportedDifferences(1)
+                        .isEqualsTo("/csv/keyed_changed.csv")
+        )
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Changed rows (2):\n  row 1: id: 2 -> 1, text: deux -> one\n  ...");
+    }
+
 }
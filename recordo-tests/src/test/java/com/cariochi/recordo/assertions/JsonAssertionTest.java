@@ -2,9 +2,12 @@ package com.cariochi.recordo.assertions;
 
 import com.cariochi.recordo.core.RecordoExtension;
 import com.cariochi.recordo.main.dto.TestDto;
+import com.cariochi.recordo.utils.ActualFiles;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.time.Duration;
 import java.util.List;
 
 import static com.cariochi.recordo.assertions.JsonAssertion.assertAsJson;
@@ -13,10 +16,20 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.reverse;
 import static java.util.Collections.shuffle;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(RecordoExtension.class)
 public class JsonAssertionTest {
 
+    private static final JsonAssertionSpec SHORT = JsonAssertionSpec.builder()
+            .including("id", "text", "children.id", "children.text")
+            .build();
+
+    @AfterAll
+    static void deleteActualFiles() {
+        ActualFiles.deleteIn("/verify_annotation_test");
+    }
+
     @Test
     void extensible() {
 
@@ -126,6 +139,69 @@ public class JsonAssertionTest {
                 .isEqualTo("/verify_annotation_test/list.json");
     }
 
+    @Test
+    void spec() {
+        assertAsJson(testDto(1)).using(SHORT).isEqualTo("/verify_annotation_test/short_dto.json");
+        assertAsJson(list()).using(SHORT).isEqualTo("/verify_annotation_test/short_list.json");
+        assertThat(testDto(1)).is(equalAsJsonTo("/verify_annotation_test/short_dto.json").using(SHORT));
+        assertAsJson(testDto(1)).using(SHORT).including("id", "text", "strings", "date", "children").isEqualTo("/verify_annotation_test/dto.json");
+    }
+
+    @Test
+    void with_rules() {
+        final TestDto dto = testDto(1);
+        dto.setDate(dto.getDate().plusSeconds(3));
+        dto.getChildren().get(0).setText("Test Object 42");
+        dto.getChildren().get(1).setDate(dto.getChildren().get(1).getDate().minusMillis(500));
+
+        assertAsJson(dto)
+                .withTimeTolerance("date", Duration.ofSeconds(5))
+                .withTimeTolerance("children.date", Duration.ofSeconds(1))
+                .withRegex("children.text", "Test Object \\d+")
+                .isEqualTo("/verify_annotation_test/dto.json");
+
+        assertThat(dto).is(
+                equalAsJsonTo("/verify_annotation_test/dto.json")
+                        .withTimeTolerance("*.date", Duration.ofSeconds(5))
+                        .withTimeTolerance("date", Duration.ofSeconds(5))
+                        .withRegex("children.text", "Test Object \\d+")
+        );
+    }
+
+    @Test
+    void with_rules_failed() {
+        final TestDto dto = testDto(1);
+        dto.setDate(dto.getDate().plusSeconds(10));
+
+        assertThatThrownBy(() -> assertAsJson(dto).withTimeTolerance("date", Duration.ofSeconds(5)).isEqualTo("/verify_annotation_test/dto.json"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("date\nExpected: 2020-01-02T00:00:00Z ± PT5S");
+    }
+
+    @Test
+    void with_rules_in_arrays_of_simple_values_in_any_order() {
+        final TestDto dto = testDto(1);
+        dto.setStrings(asList("30", "1", "20"));
+
+        assertAsJson(dto)
+                .withStrictOrder(false)
+                .withRegex("strings", "\\d+")
+                .isEqualTo("/verify_annotation_test/dto.json");
+
+        assertAsJson("{\"prices\": [3.751, 1, 2.499]}")
+                .withStrictOrder(false)
+                .withTolerance("prices", 0.01)
+                .isEqualTo("/verify_annotation_test/prices.json");
+
+        assertThatThrownBy(() -> assertAsJson("{\"prices\": [3.751, 1, 2.6]}")
+                .withStrictOrder(false)
+                .withTolerance("prices", 0.01)
+                .isEqualTo("/verify_annotation_test/prices.json"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("prices[]\nExpected: 2.5 ± 0.01")
+                .hasMessageContaining("Unexpected: 2.6");
+    }
+
     private TestDto testDto(int id) {
         return TestDto.dto(id)
                 .withChild(TestDto.dto(id + 1))
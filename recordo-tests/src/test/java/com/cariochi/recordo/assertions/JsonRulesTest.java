@@ -0,0 +1,43 @@
+package com.cariochi.recordo.assertions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonRulesTest {
+
+    private final JsonRule price = JsonRule.tolerance(0.01);
+    private final JsonRule id = JsonRule.regex("\\d+");
+
+    private final JsonRules rules = JsonRules.of(rules());
+
+    @Test
+    void should_find_rules_by_path() {
+        assertThat(rules.find("books[1].price")).isSameAs(price);
+        assertThat(rules.find("books[id=7].price")).isSameAs(price);
+        assertThat(rules.find("authors[0].books[2].id")).isSameAs(id);
+        assertThat(rules.find("authors[0].name")).isSameAs(id);
+        assertThat(rules.find("books[1].title")).isNull();
+        assertThat(rules.find("price")).isNull();
+        assertThat(rules.find("books")).isNull();
+    }
+
+    @Test
+    void should_apply_tolerance() {
+        assertThat(price.matches(1.0, 1.005)).isTrue();
+        assertThat(price.matches(1, 1.02)).isFalse();
+        assertThat(price.matches("1.0", 1.0)).isFalse();
+    }
+
+    private Map<String, JsonRule> rules() {
+        final Map<String, JsonRule> rules = new LinkedHashMap<>();
+        rules.put("books.price", price);
+        rules.put("*.books.id", id);
+        rules.put("authors.name", id);
+        return rules;
+    }
+
+}
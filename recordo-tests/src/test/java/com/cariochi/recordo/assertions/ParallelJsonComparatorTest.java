@@ -0,0 +1,46 @@
+package com.cariochi.recordo.assertions;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.comparator.DefaultComparator;
+
+import java.util.function.IntFunction;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.skyscreamer.jsonassert.JSONCompare.compareJSON;
+
+class ParallelJsonComparatorTest {
+
+    private final String expected = json(200, i -> "book " + i, true);
+    private final String actual = json(200, i -> i % 7 == 0 ? "changed " + i : "book " + i, false);
+
+    @ParameterizedTest
+    @EnumSource(JSONCompareMode.class)
+    void should_fail_as_sequential_comparator(JSONCompareMode mode) throws Exception {
+        final JSONCompareResult sequential = compareJSON(expected, actual, new DefaultComparator(mode));
+        final JSONCompareResult parallel = compareJSON(expected, actual, new ParallelJsonComparator(mode));
+
+        assertThat(parallel.failed()).isTrue();
+        assertThat(parallel.getMessage()).isEqualTo(sequential.getMessage());
+    }
+
+    @ParameterizedTest
+    @EnumSource(JSONCompareMode.class)
+    void should_pass_as_sequential_comparator(JSONCompareMode mode) throws Exception {
+        assertThat(compareJSON(expected, expected, new ParallelJsonComparator(mode)).passed()).isTrue();
+    }
+
+    private static String json(int size, IntFunction<String> title, boolean withIsbn) {
+        final String books = range(0, size)
+                .mapToObj(i -> String.format("{\"id\": %d, \"title\": \"%s\"%s, \"tags\": [\"a%d\", \"b%d\"]}",
+                        i, title.apply(i), withIsbn && i % 11 == 0 ? ", \"isbn\": \"" + i + "\"" : "", i, i))
+                .collect(joining(", "));
+        return String.format("{\"name\": \"library\", \"books\": [%s], \"authors\": {%s}}", books,
+                range(0, size / 10).mapToObj(i -> String.format("\"a%d\": {\"books\": [%d]}", i, i)).collect(joining(", ")));
+    }
+
+}
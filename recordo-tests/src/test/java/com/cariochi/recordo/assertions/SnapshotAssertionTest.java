@@ -0,0 +1,68 @@
+package com.cariochi.recordo.assertions;
+
+import com.cariochi.recordo.utils.ActualFiles;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static com.cariochi.recordo.assertions.SnapshotAssertion.assertSnapshot;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotAssertionTest {
+
+    private static final String XML = "<e:Envelope xmlns:e=\"http://schemas.xmlsoap.org/soap/envelope/\"><e:Body>"
+                                      + "<book lang=\"en\" id=\"1\"><title> Book </title><author>Author</author></book>"
+                                      + "</e:Body></e:Envelope>";
+
+    @AfterAll
+    static void deleteActualFiles() {
+        ActualFiles.deleteIn("/snapshot");
+    }
+
+    @Test
+    void xml() {
+        assertSnapshot(XML).isEqualTo("/snapshot/envelope.xml");
+
+        assertThatThrownBy(() -> assertSnapshot(XML.replace("Author", "Other")).isEqualTo("/snapshot/envelope.xml"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("XML snapshots differ at /Envelope/Body/book/author");
+    }
+
+    @Test
+    void yaml() {
+        assertSnapshot("server:\n  port: 8080\n  hosts: [one, two]\n").isEqualTo("/snapshot/config.yaml");
+
+        assertThatThrownBy(() -> assertSnapshot("server:\n  port: 8080\n  hosts: [one, three]\n").isEqualTo("/snapshot/config.yaml"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("YAML snapshots differ at /server/hosts/1");
+    }
+
+    @Test
+    void protobuf_text() {
+        assertSnapshot("id: 1\ntitle: \"Book\"\n\nauthor {\n    name: \"Author\"\n}\n").isEqualTo("/snapshot/book.textproto");
+
+        assertThatThrownBy(() -> assertSnapshot("id: 2\ntitle: \"Book\"\n").isEqualTo("/snapshot/book.textproto"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("differ at expected line 2");
+    }
+
+    @Test
+    void binary() {
+        assertSnapshot(bytes(-1)).isEqualTo("/snapshot/data.bin");
+
+        assertThatThrownBy(() -> assertSnapshot(bytes(200)).isEqualTo("/snapshot/data.bin"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Binary snapshots differ at offset 200");
+    }
+
+    private byte[] bytes(int changedOffset) {
+        final byte[] bytes = new byte[256];
+        IntStream.range(0, bytes.length).forEach(i -> bytes[i] = (byte) i);
+        if (changedOffset >= 0) {
+            bytes[changedOffset] = 0;
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.cariochi.recordo.assertions;
+
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.core.utils.Properties;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
+import com.cariochi.recordo.main.dto.TestDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.cariochi.recordo.assertions.CsvAssertion.assertCsv;
+import static com.cariochi.recordo.assertions.JsonAssertion.assertAsJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotUpdatesTest {
+
+    private static final String JSON_FILE = "/snapshot_updates/dto.json";
+    private static final String CSV_FILE = "/snapshot_updates/rows.csv";
+
+    @BeforeEach
+    void enableUpdates() {
+        SnapshotUpdates.enableInCurrentThread(true);
+    }
+
+    @AfterEach
+    void disableUpdates() throws Exception {
+        SnapshotUpdates.resetInCurrentThread();
+        AsyncFileWriter.flush();
+        java.nio.file.Files.deleteIfExists(Files.path(JSON_FILE));
+        java.nio.file.Files.deleteIfExists(Files.path(CSV_FILE));
+        java.nio.file.Files.deleteIfExists(Files.path(JSON_FILE).getParent());
+    }
+
+    @Test
+    void should_enable_updates_in_current_thread_only() {
+        assertThat(SnapshotUpdates.enabled()).isTrue();
+        assertThat(CompletableFuture.supplyAsync(SnapshotUpdates::enabled).join()).isEqualTo(Properties.snapshotsUpdate());
+    }
+
+    @Test
+    void should_update_json() {
+        assertAsJson(TestDto.dto(1)).isEqualTo(JSON_FILE);
+        assertAsJson(TestDto.dto(2)).isEqualTo(JSON_FILE);
+
+        assertThat(Files.read(JSON_FILE)).contains("Test Object 2").doesNotContain("Test Object 1");
+    }
+
+    @Test
+    void should_update_csv() {
+        assertCsv("id,text\n1,one").withHeaders(true).isEqualsTo(CSV_FILE);
+        assertCsv("id,text\n1,two").withHeaders(true).isEqualsTo(CSV_FILE);
+
+        assertThat(Files.read(CSV_FILE)).isEqualTo("id,text\n1,two");
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.cariochi.recordo.assertions;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StructuralEqualityTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    @Test
+    void should_not_rely_on_colliding_hashes() {
+        final JsonNode expected = tree("{\"id\": 9007199254740993}");
+        final JsonNode actual = tree("{\"id\": 9007199254740992}");
+
+        assertThat(StructuralHash.of(actual, true)).isEqualTo(StructuralHash.of(expected, true));
+        assertThat(StructuralEquality.equal(expected, actual, true)).isFalse();
+    }
+
+    @Test
+    void should_compare_numbers_by_value() {
+        assertThat(StructuralEquality.equal(tree("{\"price\": 1.50}"), tree("{\"price\": 1.5}"), true)).isTrue();
+        assertThat(StructuralEquality.equal(tree("[1, 2.0]"), tree("[1.0, 2]"), true)).isTrue();
+    }
+
+    @Test
+    void should_honor_strict_order() {
+        final JsonNode expected = tree("{\"tags\": [\"a\", \"b\", \"a\"], \"id\": 1}");
+        final JsonNode actual = tree("{\"id\": 1, \"tags\": [\"b\", \"a\", \"a\"]}");
+
+        assertThat(StructuralEquality.equal(expected, actual, true)).isFalse();
+        assertThat(StructuralEquality.equal(expected, actual, false)).isTrue();
+        assertThat(StructuralEquality.equal(expected, tree("{\"id\": 1, \"tags\": [\"b\", \"b\", \"a\"]}"), false)).isFalse();
+    }
+
+    @SneakyThrows
+    private static JsonNode tree(String json) {
+        return MAPPER.readTree(json);
+    }
+
+}
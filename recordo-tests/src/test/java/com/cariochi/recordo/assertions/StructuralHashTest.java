@@ -0,0 +1,39 @@
+package com.cariochi.recordo.assertions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StructuralHashTest {
+
+    private static final String JSON = "{\"id\": 1, \"title\": \"Book\", \"tags\": [\"a\", \"b\"], \"author\": {\"name\": \"Author\"}}";
+
+    @Test
+    void should_ignore_field_order() {
+        final String reordered = "{\"author\": {\"name\": \"Author\"}, \"tags\": [\"a\", \"b\"], \"title\": \"Book\", \"id\": 1.0}";
+
+        assertThat(StructuralHash.of(reordered, true)).isEqualTo(StructuralHash.of(JSON, true));
+    }
+
+    @Test
+    void should_honor_strict_order() {
+        final String reordered = "{\"id\": 1, \"title\": \"Book\", \"tags\": [\"b\", \"a\"], \"author\": {\"name\": \"Author\"}}";
+
+        assertThat(StructuralHash.of(reordered, true)).isNotEqualTo(StructuralHash.of(JSON, true));
+        assertThat(StructuralHash.of(reordered, false)).isEqualTo(StructuralHash.of(JSON, false));
+    }
+
+    @Test
+    void should_differ() {
+        assertThat(StructuralHash.of(JSON.replace("Author", "Other"), false)).isNotEqualTo(StructuralHash.of(JSON, false));
+        assertThat(StructuralHash.of(JSON.replace("1", "\"1\""), false)).isNotEqualTo(StructuralHash.of(JSON, false));
+        assertThat(StructuralHash.of("[[\"a\", \"b\"], []]", false)).isNotEqualTo(StructuralHash.of("[[\"a\"], [\"b\"]]", false));
+    }
+
+    @Test
+    void should_be_empty_for_invalid_json() {
+        assertThat(StructuralHash.of("{\"id\": 1", true)).isEmpty();
+        assertThat(StructuralHash.of("", true)).isEmpty();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.cariochi.recordo.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionHooksTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void should_run_hooks_when_launcher_session_is_closed() {
+        final AtomicInteger calls = new AtomicInteger();
+        SessionHooks.onClose(calls::incrementAndGet);
+
+        try (LauncherSession session = LauncherFactory.openSession()) {
+            assertThat(calls).hasValue(0);
+        }
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void should_run_hooks_after_failed_hook() {
+        final AtomicBoolean failing = new AtomicBoolean(true);
+        final AtomicInteger calls = new AtomicInteger();
+        SessionHooks.onClose(() -> {
+            if (failing.getAndSet(false)) {
+                throw new IllegalStateException("Failed hook");
+            }
+        });
+        SessionHooks.onClose(calls::incrementAndGet);
+
+        SessionHooks.close();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void should_run_hooks_on_shutdown() throws IOException, InterruptedException {
+        final Path file = folder.resolve("closed.txt");
+        final Process process = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                ShutdownMain.class.getName(),
+                file.toString()
+        ).inheritIO().start();
+
+        assertThat(process.waitFor(60, TimeUnit.SECONDS)).isTrue();
+        assertThat(process.exitValue()).isZero();
+        assertThat(file).hasContent("closed");
+    }
+
+    public static class ShutdownMain {
+
+        public static void main(String[] args) {
+            SessionHooks.onClose(() -> {
+                try {
+                    Files.writeString(Paths.get(args[0]), "closed");
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+    }
+
+}
@@ -7,7 +7,9 @@ import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.skyscreamer.jsonassert.JSONAssert.assertEquals;
 
 class JsonConverterTest {
@@ -74,4 +76,34 @@ class JsonConverterTest {
         // then
         assertEquals(EXPECTED_JSON, result, JSONCompareMode.STRICT);
     }
+
+    @Test
+    @SneakyThrows
+    void should_filter_tokens() {
+        // given
+        final JsonPropertyFilter jsonPropertyFilter = new JsonPropertyFilter(
+                asList("id", "text", "children.id", "children.text"),
+                asList()
+        );
+
+        // when
+        final String result = jsonConverter.toJson(jsonConverter.toTokens(GIVEN_OBJECT, jsonPropertyFilter));
+
+        // then
+        assertEquals(EXPECTED_JSON, result, JSONCompareMode.STRICT);
+        assertThat(result).isEqualTo(jsonConverter.toJson(GIVEN_OBJECT, jsonPropertyFilter));
+    }
+
+    @Test
+    void should_convert_bytes() {
+        // when
+        final byte[] bytes = jsonConverter.toJsonBytes(GIVEN_OBJECT);
+        final TestDto result = jsonConverter.fromJson(bytes, TestDto.class);
+
+        // then
+        assertThat(result).isEqualTo(GIVEN_OBJECT);
+        assertThat(jsonConverter.toJsonBytes("{\"id\":1}")).isEqualTo("{\"id\":1}".getBytes(UTF_8));
+        assertThat((String) jsonConverter.fromJson(bytes, String.class)).isEqualTo(new String(bytes, UTF_8));
+    }
+
 }
@@ -0,0 +1,96 @@
+package com.cariochi.recordo.mockserver;
+
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
+import com.cariochi.recordo.mockserver.interceptors.apache.ApacheMockServerInterceptor;
+import com.cariochi.recordo.mockserver.model.MockInteraction;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApacheContentEncodingTest {
+
+    private static final String FILE = "/mockserver/apache/gzip_book.mock.json";
+    private static final String BOOK = "{\"id\":1,\"title\":\"Book\"}";
+
+    private HttpServer upstream;
+    private String url;
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        upstream.createContext("/books/1", this::gzipBook);
+        upstream.start();
+        url = "http://localhost:" + upstream.getAddress().getPort() + "/books/1";
+    }
+
+    @AfterEach
+    void stopUpstream() throws IOException {
+        upstream.stop(0);
+        AsyncFileWriter.flush();
+        java.nio.file.Files.deleteIfExists(Files.path(FILE));
+    }
+
+    @Test
+    void should_record_and_replay_gzip_response() throws IOException {
+        try (CloseableHttpClient client = HttpClients.createDefault()) {
+            try (RecordoMockServer mockServer = new RecordoMockServer(new ApacheMockServerInterceptor(client), FILE)) {
+                assertThat(get(client)).isEqualTo(BOOK);
+            }
+            AsyncFileWriter.flush();
+
+            final List<MockInteraction> recorded = new JsonConverter().fromJson(
+                    Files.read(FILE),
+                    new TypeReference<List<MockInteraction>>() {}.getType()
+            );
+            assertThat(recorded).hasSize(1);
+            assertThat(ContentEncodings.encodingOf(recorded.get(0).getResponse().getHeaders())).contains("gzip");
+            assertThat(recorded.get(0).getResponse().getBody()).isEqualTo(Map.of("id", 1, "title", "Book"));
+
+            upstream.stop(0);
+            try (RecordoMockServer mockServer = new RecordoMockServer(new ApacheMockServerInterceptor(client), FILE)) {
+                assertThat((Object) new JsonConverter().fromJson(get(client), Map.class)).isEqualTo(Map.of("id", 1, "title", "Book"));
+            }
+        }
+    }
+
+    private String get(CloseableHttpClient client) throws IOException {
+        try (CloseableHttpResponse response = client.execute(new HttpGet(url))) {
+            assertThat(response.getFirstHeader(ContentEncodings.CONTENT_ENCODING)).isNull();
+            return EntityUtils.toString(response.getEntity(), UTF_8);
+        }
+    }
+
+    private void gzipBook(HttpExchange exchange) throws IOException {
+        final String acceptEncoding = exchange.getRequestHeaders().getFirst(ContentEncodings.ACCEPT_ENCODING);
+        assertThat(acceptEncoding).contains("gzip");
+        final byte[] body = ContentEncodings.encode(BOOK.getBytes(UTF_8), "gzip");
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add(ContentEncodings.CONTENT_ENCODING, "gzip");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+}
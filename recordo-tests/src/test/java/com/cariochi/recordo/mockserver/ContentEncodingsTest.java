@@ -0,0 +1,64 @@
+package com.cariochi.recordo.mockserver;
+
+import com.cariochi.recordo.core.RecordoError;
+import com.cariochi.recordo.mockserver.interceptors.ContentEncodings;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentEncodingsTest {
+
+    private final byte[] body = "{\"id\": 1, \"title\": \"Book\"}".getBytes(UTF_8);
+
+    @Test
+    void should_decode_encoded_body() {
+        assertThat(ContentEncodings.decode(ContentEncodings.encode(body, "gzip"), "gzip")).isEqualTo(body);
+        assertThat(ContentEncodings.decode(ContentEncodings.encode(body, "deflate"), "deflate")).isEqualTo(body);
+    }
+
+    @Test
+    void should_decode_raw_deflate() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            deflater.write(body);
+        }
+        assertThat(ContentEncodings.decode(out.toByteArray(), "deflate")).isEqualTo(body);
+    }
+
+    @Test
+    void should_fail_on_undecodable_body() {
+        assertThatThrownBy(() -> ContentEncodings.decode(body, "br"))
+                .isInstanceOf(RecordoError.class)
+                .hasMessageContaining("org.brotli.dec.BrotliInputStream is not found");
+        assertThatThrownBy(() -> ContentEncodings.decode(body, "compress"))
+                .isInstanceOf(RecordoError.class)
+                .hasMessage("Unsupported content encoding: compress");
+    }
+
+    @Test
+    void should_negotiate_encoding() {
+        assertThat(ContentEncodings.negotiate("gzip", "gzip, deflate")).contains("gzip");
+        assertThat(ContentEncodings.negotiate("gzip", "deflate")).contains("deflate");
+        assertThat(ContentEncodings.negotiate("br", "br, gzip")).contains("gzip");
+        assertThat(ContentEncodings.negotiate("gzip", "gzip;q=0, identity")).isEmpty();
+        assertThat(ContentEncodings.negotiate("gzip", null)).isEmpty();
+    }
+
+    @Test
+    void should_replace_payload_headers() {
+        final Map<String, String> headers = Map.of("Content-Type", "application/json", "content-encoding", "br", "Content-Length", "42");
+
+        assertThat(ContentEncodings.withEncoding(headers, "gzip"))
+                .containsOnly(Map.entry("Content-Type", "application/json"), Map.entry("Content-Encoding", "gzip"));
+        assertThat(ContentEncodings.withEncoding(headers, null))
+                .containsOnly(Map.entry("Content-Type", "application/json"));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.cariochi.recordo.mockserver;
+
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.mockserver.MockServer.Latency.Mode;
+import com.cariochi.recordo.mockserver.model.MockInteraction;
+import com.cariochi.recordo.mockserver.model.MockRequest;
+import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.cariochi.recordo.mockserver.model.MockResponse.Timing;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.cariochi.recordo.core.json.JsonUtils.compareMode;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencySimulatorTest {
+
+    private static final String FILE = "/mockserver/latency/books.rest.json";
+
+    private final MockResponse response = MockResponse.builder()
+            .statusCode(200)
+            .timing(new Timing(50, 100))
+            .build();
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        AsyncFileWriter.flush();
+        java.nio.file.Files.deleteIfExists(Files.path(FILE));
+        java.nio.file.Files.deleteIfExists(Files.path(FILE).getParent());
+    }
+
+    @Test
+    void should_replay_immediately() {
+        assertThat(LatencySimulator.NONE.delay(response)).isCompletedWithValue(Optional.of(response));
+    }
+
+    @Test
+    void should_replay_scaled_recorded_latency() {
+        final long start = System.nanoTime();
+        final CompletableFuture<Optional<MockResponse>> future = LatencySimulator.of(Mode.RECORDED, 2.0, 0, 0).delay(response);
+
+        assertThat(future).isNotDone();
+        assertThat(future.join()).contains(response);
+        assertThat(NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    void should_replay_uniform_latency() {
+        final long start = System.nanoTime();
+        final CompletableFuture<Optional<MockResponse>> future = LatencySimulator.of(Mode.UNIFORM, 1.0, 20, 40).delay(response);
+
+        assertThat(future.join()).contains(response);
+        assertThat(NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void should_not_record_timing_by_default() {
+        record(LatencySimulator.NONE);
+
+        assertThat(Files.read(FILE)).doesNotContain("timing");
+    }
+
+    @Test
+    void should_record_timing_for_recorded_latency() {
+        record(LatencySimulator.of(Mode.RECORDED, 1.0, 0, 0));
+
+        final List<MockInteraction> mocks = new JsonConverter().fromJson(Files.read(FILE), new TypeReference<List<MockInteraction>>() {}.getType());
+        assertThat(mocks).extracting(mock -> mock.getResponse().getTiming()).containsExactly(new Timing(50, 100));
+    }
+
+    private void record(LatencySimulator latencySimulator) {
+        final JsonConverter jsonConverter = new JsonConverter();
+        try (RecordoMockServer mockServer = new RecordoMockServer("**", FILE, jsonConverter, compareMode(false, true), latencySimulator)) {
+            final MockRequest request = MockRequest.builder().method("GET").url("https://books.server/books/1").build();
+            mockServer.onRequest(request);
+            mockServer.onResponse(request, response);
+        }
+        AsyncFileWriter.flush();
+    }
+
+}
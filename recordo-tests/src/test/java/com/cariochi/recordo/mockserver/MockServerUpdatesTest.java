@@ -0,0 +1,95 @@
+package com.cariochi.recordo.mockserver;
+
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.core.utils.SnapshotUpdates;
+import com.cariochi.recordo.mockserver.model.MockInteraction;
+import com.cariochi.recordo.mockserver.model.MockRequest;
+import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static com.cariochi.recordo.core.json.JsonUtils.compareMode;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MockServerUpdatesTest {
+
+    private static final String FILE = "/mockserver/updates/books.rest.json";
+    private static final String MOCKS = "[" +
+            "{\"request\": {\"method\": \"GET\", \"url\": \"https://books.server/books/${id}\"}," +
+            " \"response\": {\"statusCode\": 200, \"body\": {\"id\": \"${id}\"}}}," +
+            "{\"request\": {\"method\": \"GET\", \"url\": \"https://books.server/authors/1\"}," +
+            " \"response\": {\"statusCode\": 200, \"body\": {\"id\": 1}}}" +
+            "]";
+
+    private final JsonConverter jsonConverter = new JsonConverter();
+
+    @BeforeEach
+    void enableUpdates() {
+        SnapshotUpdates.enableInCurrentThread(true);
+        Files.write(MOCKS, FILE);
+    }
+
+    @AfterEach
+    void disableUpdates() throws IOException {
+        SnapshotUpdates.resetInCurrentThread();
+        AsyncFileWriter.flush();
+        java.nio.file.Files.deleteIfExists(Files.path(FILE));
+        java.nio.file.Files.deleteIfExists(Files.path(FILE).getParent());
+    }
+
+    @Test
+    void should_keep_played_back_mocks_with_variables() {
+        try (RecordoMockServer mockServer = mockServer()) {
+            mockServer.set("id", 1);
+            assertThat(mockServer.onRequest(get("/books/1"))).isPresent();
+
+            assertThat(mockServer.onRequest(get("/authors/2"))).isEmpty();
+            mockServer.onResponse(get("/authors/2"), ok(Map.of("id", 2)));
+
+            mockServer.set("id", 2);
+            assertThat(mockServer.onRequest(get("/books/2"))).isEmpty();
+            mockServer.onResponse(get("/books/2"), ok(Map.of("id", 2)));
+        }
+        AsyncFileWriter.flush();
+
+        final List<MockInteraction> mocks = jsonConverter.fromJson(Files.read(FILE), new TypeReference<List<MockInteraction>>() {}.getType());
+        assertThat(mocks.stream().map(mock -> mock.getRequest().getUrl()).collect(toList())).containsExactly(
+                "https://books.server/books/${id}",
+                "https://books.server/authors/2",
+                "https://books.server/books/2"
+        );
+        assertThat(mocks.get(0).getResponse().getBody()).isEqualTo(Map.of("id", "${id}"));
+    }
+
+    @Test
+    void should_update_file_without_requests() {
+        try (RecordoMockServer mockServer = mockServer()) {
+            mockServer.set("id", 1);
+        }
+        AsyncFileWriter.flush();
+
+        assertThat(Files.read(FILE)).isEqualToIgnoringWhitespace("[]");
+    }
+
+    private RecordoMockServer mockServer() {
+        return new RecordoMockServer("https://books.server/**", FILE, jsonConverter, compareMode(false, true));
+    }
+
+    private static MockRequest get(String path) {
+        return MockRequest.builder().method("GET").url("https://books.server" + path).build();
+    }
+
+    private static MockResponse ok(Object body) {
+        return MockResponse.builder().statusCode(200).body(body).build();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.cariochi.recordo.mockserver;
+
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.mockserver.model.MockInteraction;
+import com.cariochi.recordo.mockserver.proxy.RecordoProxyServer;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordoProxyServerTest {
+
+    private static final String FILE = "/mockserver/proxy/books.rest.json";
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        upstream.createContext("/books", this::book);
+        upstreamExecutor = Executors.newFixedThreadPool(4);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.start();
+    }
+
+    @AfterEach
+    void stopUpstream() throws IOException {
+        upstream.stop(0);
+        upstreamExecutor.shutdown();
+        AsyncFileWriter.flush();
+        java.nio.file.Files.deleteIfExists(Files.path(FILE));
+    }
+
+    @Test
+    void should_record_concurrent_requests() {
+        final String upstreamUrl = "http://localhost:" + upstream.getAddress().getPort();
+        final HttpClient client = HttpClient.newHttpClient();
+
+        try (RecordoProxyServer proxy = new RecordoProxyServer(upstreamUrl, FILE).start()) {
+            final List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, 50)
+                    .mapToObj(i -> HttpRequest.newBuilder(URI.create(proxy.getUrl() + "/books/" + i)).build())
+                    .map(request -> client.sendAsync(request, BodyHandlers.ofString()))
+                    .collect(toList());
+
+            assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+        }
+
+        final List<MockInteraction> recorded = new JsonConverter().fromJson(
+                Files.read(FILE),
+                new TypeReference<List<MockInteraction>>() {}.getType()
+        );
+        assertThat(recorded).hasSize(50);
+        assertThat(recorded).extracting(i -> i.getRequest().getUrl()).allMatch(url -> url.startsWith(upstreamUrl + "/books/"));
+        assertThat(recorded).extracting(i -> i.getResponse().getStatusCode()).containsOnly(200);
+    }
+
+    private void book(HttpExchange exchange) throws IOException {
+        final String id = exchange.getRequestURI().getPath().substring("/books/".length());
+        final byte[] body = ("{\"id\": " + id + ", \"title\": \"Book " + id + "\"}").getBytes(UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.cariochi.recordo.mockserver.metrics;
+
+import com.cariochi.recordo.core.json.JsonConverter;
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import com.cariochi.recordo.core.utils.Files;
+import com.cariochi.recordo.mockserver.RecordoMockServer;
+import com.cariochi.recordo.mockserver.model.MockRequest;
+import com.cariochi.recordo.mockserver.model.MockResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static com.cariochi.recordo.core.json.JsonUtils.compareMode;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MockServerMetricsTest {
+
+    private static final String FILE = "/mockserver/metrics/book.rest.json";
+    private static final String ENCODED_FILE = "/mockserver/metrics/encoded_book.rest.json";
+    private static final String REPORT = "metrics-test/mockserver-report.json";
+
+    private final JsonConverter jsonConverter = new JsonConverter();
+
+    @AfterEach
+    void deleteFiles() throws IOException {
+        AsyncFileWriter.flush();
+        java.nio.file.Files.deleteIfExists(Files.path(FILE));
+        java.nio.file.Files.deleteIfExists(Files.path(ENCODED_FILE));
+        java.nio.file.Files.deleteIfExists(Files.path(FILE).getParent());
+        java.nio.file.Files.deleteIfExists(Files.reportPath(REPORT));
+        java.nio.file.Files.deleteIfExists(Files.reportPath(REPORT).getParent());
+    }
+
+    @Test
+    void should_measure_recording_and_playback() {
+        final MockRequest request = MockRequest.builder().method("GET").url("https://books.server/books/1").build();
+        try (RecordoMockServer mockServer = mockServer()) {
+            assertThat(mockServer.onRequest(request)).isEmpty();
+            mockServer.onResponse(request, MockResponse.builder().statusCode(200).body("{\"title\":\"Café\"}").build());
+        }
+        AsyncFileWriter.flush();
+        try (RecordoMockServer mockServer = mockServer()) {
+            assertThat(mockServer.match(request)).isTrue();
+            assertThat(mockServer.onRequest(request)).isPresent();
+        }
+
+        assertThat(RecordingMetricsListener.values(MockServerMetrics.BYTES_RECORDED, "file", FILE)).containsExactly(17L);
+        assertThat(RecordingMetricsListener.values(MockServerMetrics.BYTES_REPLAYED, "file", FILE)).hasSize(1).allMatch(bytes -> bytes > 0);
+        assertThat(RecordingMetricsListener.values(MockServerMetrics.FILE_LOAD, "file", FILE)).hasSize(1);
+        assertThat(RecordingMetricsListener.values(MockServerMetrics.COMPARE, "file", FILE)).hasSize(1);
+        assertThat(RecordingMetricsListener.values(MockServerMetrics.CONVERSION, "file", FILE)).hasSize(2);
+    }
+
+    @Test
+    void should_measure_replayed_bytes_before_encoding() {
+        final MockResponse response = MockResponse.builder()
+                .statusCode(200)
+                .headers(Map.of("Content-Type", "text/plain", "Content-Encoding", "gzip"))
+                .body("Café au lait")
+                .build();
+        try (RecordoMockServer mockServer = mockServer(ENCODED_FILE)) {
+            final MockRequest request = get("https://books.server/books/1");
+            assertThat(mockServer.onRequest(request)).isEmpty();
+            mockServer.onResponse(request, response);
+        }
+        AsyncFileWriter.flush();
+        try (RecordoMockServer mockServer = mockServer(ENCODED_FILE)) {
+            final MockRequest request = get("https://books.server/books/1").withHeaders(Map.of("Accept-Encoding", "gzip"));
+            assertThat(mockServer.onRequest(request)).hasValueSatisfying(r -> assertThat(r.getBody()).isInstanceOf(byte[].class));
+        }
+
+        assertThat(RecordingMetricsListener.values(MockServerMetrics.BYTES_REPLAYED, "file", ENCODED_FILE)).containsExactly(13L);
+    }
+
+    @Test
+    void should_write_report() throws IOException {
+        final MockServerReport report = new MockServerReport(REPORT);
+        report.timer(MockServerMetrics.COMPARE, 2_000_000, "file", "a.json");
+        report.timer(MockServerMetrics.COMPARE, 4_000_000, "file", "a.json");
+        report.counter(MockServerMetrics.BYTES_RECORDED, 10, "file", "a.json");
+        report.counter(MockServerMetrics.BYTES_RECORDED, 30, "file", "a.json");
+
+        report.write();
+
+        final List<Map<String, Object>> rows = jsonConverter.fromJson(
+                java.nio.file.Files.readString(Files.reportPath(REPORT)),
+                new TypeReference<List<Map<String, Object>>>() {}.getType()
+        );
+        assertThat(rows).containsExactly(
+                Map.of("name", MockServerMetrics.BYTES_RECORDED, "tags", Map.of("file", "a.json"),
+                        "count", 2, "total", 40, "mean", 20.0, "max", 30),
+                Map.of("name", MockServerMetrics.COMPARE, "tags", Map.of("file", "a.json"),
+                        "count", 2, "totalMs", 6.0, "meanMs", 3.0, "maxMs", 4.0)
+        );
+    }
+
+    private RecordoMockServer mockServer() {
+        return mockServer(FILE);
+    }
+
+    private RecordoMockServer mockServer(String file) {
+        return new RecordoMockServer("https://books.server/**", file, jsonConverter, compareMode(false, true));
+    }
+
+    private static MockRequest get(String url) {
+        return MockRequest.builder().method("GET").url(url).build();
+    }
+
+}
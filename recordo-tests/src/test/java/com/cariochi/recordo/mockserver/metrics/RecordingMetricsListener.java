@@ -0,0 +1,41 @@
+package com.cariochi.recordo.mockserver.metrics;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.util.stream.Collectors.toList;
+
+public class RecordingMetricsListener implements MockServerMetricsListener {
+
+    private static final Queue<Metric> METRICS = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void timer(String name, long nanos, String... tags) {
+        METRICS.add(new Metric(name, nanos, List.of(tags)));
+    }
+
+    @Override
+    public void counter(String name, long amount, String... tags) {
+        METRICS.add(new Metric(name, amount, List.of(tags)));
+    }
+
+    static List<Long> values(String name, String... tags) {
+        return METRICS.stream()
+                .filter(metric -> metric.getName().equals(name) && metric.getTags().equals(List.of(tags)))
+                .map(Metric::getValue)
+                .collect(toList());
+    }
+
+    @Value
+    static class Metric {
+
+        String name;
+        long value;
+        List<String> tags;
+
+    }
+
+}
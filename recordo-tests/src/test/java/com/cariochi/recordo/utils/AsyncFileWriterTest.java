@@ -0,0 +1,75 @@
+package com.cariochi.recordo.utils;
+
+import com.cariochi.recordo.core.utils.AsyncFileWriter;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncFileWriterTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    @SneakyThrows
+    void should_write_latest_content() {
+        final Path file = folder.resolve("nested/file.txt");
+
+        final CompletableFuture<Path> first = AsyncFileWriter.write(file, bytes("first"));
+        final CompletableFuture<Path> second = AsyncFileWriter.write(file, bytes("second"));
+        AsyncFileWriter.flush();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(file);
+        assertThat(first).isCompleted();
+        assertThat(Files.readString(file)).isEqualTo("second");
+        assertThat(AsyncFileWriter.pending(file)).isEmpty();
+        assertThat(folder.resolve("nested")).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    @SneakyThrows
+    void should_keep_writing_after_failure() {
+        final Path directory = folder.resolve("directory");
+        Files.createDirectories(directory.resolve("child"));
+        final Path file = folder.resolve("file.txt");
+
+        final CompletableFuture<Path> failed = AsyncFileWriter.write(directory, bytes("content"));
+        final CompletableFuture<Path> written = AsyncFileWriter.write(file, bytes("content"));
+        AsyncFileWriter.flush();
+
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(AsyncFileWriter.pending(directory)).isEmpty();
+        assertThat(folder).isDirectoryNotContaining("glob:**.tmp");
+        assertThat(written.get(5, TimeUnit.SECONDS)).isEqualTo(file);
+        assertThat(Files.readString(file)).isEqualTo("content");
+    }
+
+    @Test
+    @SneakyThrows
+    void should_notify_when_file_is_written() {
+        final Path file = folder.resolve("notified.txt");
+
+        AsyncFileWriter.write(file, bytes("content"));
+        final boolean existed = AsyncFileWriter.written(file)
+                .thenApply(Files::exists)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(existed).isTrue();
+        assertThat(AsyncFileWriter.written(folder.resolve("absent.txt"))).isCompleted();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(UTF_8);
+    }
+
+}